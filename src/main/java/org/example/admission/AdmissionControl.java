@@ -0,0 +1,165 @@
+package org.example.admission;
+
+import jakarta.annotation.PreDestroy;
+import org.example.exception.AdmissionRejectedException;
+import org.example.exception.AdmissionRejectedException.Reason;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Admits expensive work per {@link WorkClass}, so it can never starve the interactive moves.
+ * <p>
+ * Every work class runs on its own small pool with a bounded queue instead of on the request threads.
+ * Work is rejected right away when the queue is full or its client already has too many requests,
+ * and dropped when it waited in the queue past its deadline.
+ */
+@Service
+public class AdmissionControl {
+
+    private final Map<WorkClass, Gate> gates = new EnumMap<>(WorkClass.class);
+
+    /**
+     * Creates a new AdmissionControl with the limits configured in the environment.
+     *
+     * @param environment the environment holding the {@code mancala.admission.*} properties
+     */
+    public AdmissionControl(final Environment environment) {
+        for (final WorkClass workClass : WorkClass.values()) {
+            final String prefix = "mancala.admission." + workClass.getPropertyName() + ".";
+
+            gates.put(workClass, new Gate(workClass,
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, workClass.getDefaultMaxConcurrent()),
+                    environment.getProperty(prefix + "queue-capacity", Integer.class, workClass.getDefaultQueueCapacity()),
+                    environment.getProperty(prefix + "queue-timeout-millis", Long.class, workClass.getDefaultQueueTimeoutMillis()),
+                    environment.getProperty(prefix + "max-per-client", Integer.class, workClass.getDefaultMaxPerClient())));
+        }
+    }
+
+    /**
+     * Submits the work if its work class and client have capacity left.
+     *
+     * @param workClass the class of the work
+     * @param clientId  the client the work is requested by
+     * @param work      the work to run
+     * @param <T>       the type of the result
+     * @return the future result, failing with an {@link AdmissionRejectedException} if the work waited too long
+     * @throws AdmissionRejectedException if the queue is full or the client has too many requests
+     */
+    public <T> CompletableFuture<T> submit(final WorkClass workClass, final String clientId, final Supplier<T> work) {
+        return gates.get(workClass).submit(clientId, work);
+    }
+
+    /**
+     * Gets the current load and counters of every work class.
+     *
+     * @return the statistics by work class
+     */
+    public Map<WorkClass, AdmissionStats> getStats() {
+        final Map<WorkClass, AdmissionStats> stats = new EnumMap<>(WorkClass.class);
+        gates.forEach((workClass, gate) -> stats.put(workClass, gate.getStats()));
+        return stats;
+    }
+
+    /**
+     * Stops all work classes. Queued work is dropped.
+     */
+    @PreDestroy
+    public void close() {
+        gates.values().forEach(gate -> gate.executor.shutdownNow());
+    }
+
+    /**
+     * Holds the pool, the queue and the per-client counters of one work class.
+     */
+    private static final class Gate {
+        private final WorkClass workClass;
+        private final int queueCapacity;
+        private final long queueTimeoutNanos;
+        private final int maxPerClient;
+        private final ThreadPoolExecutor executor;
+        private final Map<String, Integer> requestsByClient = new ConcurrentHashMap<>();
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder rejectedSaturated = new LongAdder();
+        private final LongAdder rejectedClientLimit = new LongAdder();
+        private final LongAdder rejectedTimeout = new LongAdder();
+
+        private Gate(final WorkClass workClass, final int maxConcurrent, final int queueCapacity,
+                     final long queueTimeoutMillis, final int maxPerClient) {
+            this.workClass = workClass;
+            this.queueCapacity = queueCapacity;
+            this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+            this.maxPerClient = maxPerClient;
+            // The queue is fair by arrival. The per-client limit keeps one client from filling it.
+            this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    Thread.ofPlatform().name("admission-" + workClass.getPropertyName() + "-", 0).daemon().factory());
+        }
+
+        private <T> CompletableFuture<T> submit(final String clientId, final Supplier<T> work) {
+            if (!acquireForClient(clientId)) {
+                rejectedClientLimit.increment();
+                throw new AdmissionRejectedException(workClass, Reason.CLIENT_LIMIT);
+            }
+
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            final long enqueuedAt = System.nanoTime();
+
+            try {
+                executor.execute(() -> run(clientId, work, future, enqueuedAt));
+            } catch (RejectedExecutionException e) {
+                releaseForClient(clientId);
+                rejectedSaturated.increment();
+                throw new AdmissionRejectedException(workClass, Reason.SATURATED);
+            }
+
+            admitted.increment();
+            return future;
+        }
+
+        private <T> void run(final String clientId, final Supplier<T> work, final CompletableFuture<T> future,
+                             final long enqueuedAt) {
+            try {
+                if (System.nanoTime() - enqueuedAt > queueTimeoutNanos) {
+                    rejectedTimeout.increment();
+                    future.completeExceptionally(new AdmissionRejectedException(workClass, Reason.QUEUE_TIMEOUT));
+                } else {
+                    future.complete(work.get());
+                }
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                releaseForClient(clientId);
+            }
+        }
+
+        private boolean acquireForClient(final String clientId) {
+            if (requestsByClient.merge(clientId, 1, Integer::sum) > maxPerClient) {
+                releaseForClient(clientId);
+                return false;
+            }
+
+            return true;
+        }
+
+        private void releaseForClient(final String clientId) {
+            requestsByClient.computeIfPresent(clientId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+
+        private AdmissionStats getStats() {
+            return new AdmissionStats(executor.getMaximumPoolSize(), queueCapacity, executor.getActiveCount(),
+                    executor.getQueue().size(), admitted.sum(), rejectedSaturated.sum(), rejectedClientLimit.sum(),
+                    rejectedTimeout.sum());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.admission;
+
+/**
+ * Represents the current load and the counters of one work class.
+ *
+ * @param maxConcurrent       the number of requests that may run at the same time
+ * @param queueCapacity       the number of requests that may wait
+ * @param running             the number of running requests
+ * @param queued              the number of waiting requests
+ * @param admitted            the number of requests accepted so far
+ * @param rejectedSaturated   the number of requests rejected because the queue was full
+ * @param rejectedClientLimit the number of requests rejected because their client had too many requests
+ * @param rejectedTimeout     the number of requests dropped because they waited past the deadline
+ */
+public record AdmissionStats(int maxConcurrent, int queueCapacity, int running, int queued, long admitted,
+                             long rejectedSaturated, long rejectedClientLimit, long rejectedTimeout) {
+}
@@ -0,0 +1,39 @@
+package org.example.admission;
+
+import lombok.Getter;
+
+/**
+ * Represents a class of expensive work that is admitted separately from the interactive moves.
+ * <p>
+ * The defaults can be overridden with the {@code mancala.admission.<name>.*} properties.
+ */
+@Getter
+public enum WorkClass {
+    /**
+     * Playing a whole demo game.
+     */
+    DEMO("demo", 2, 16, 2_000, 1),
+
+    /**
+     * Evaluating positions in bulk.
+     */
+    ANALYSIS("analysis", 2, 8, 5_000, 1);
+
+    /**
+     * The name used in the properties and the metrics.
+     */
+    private final String propertyName;
+    private final int defaultMaxConcurrent;
+    private final int defaultQueueCapacity;
+    private final long defaultQueueTimeoutMillis;
+    private final int defaultMaxPerClient;
+
+    WorkClass(final String propertyName, final int defaultMaxConcurrent, final int defaultQueueCapacity,
+              final long defaultQueueTimeoutMillis, final int defaultMaxPerClient) {
+        this.propertyName = propertyName;
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultQueueCapacity = defaultQueueCapacity;
+        this.defaultQueueTimeoutMillis = defaultQueueTimeoutMillis;
+        this.defaultMaxPerClient = defaultMaxPerClient;
+    }
+}
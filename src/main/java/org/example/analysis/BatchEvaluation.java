@@ -0,0 +1,98 @@
+package org.example.analysis;
+
+/**
+ * Holds the evaluation of every position of a {@link PositionBlock}, as a structure of arrays.
+ * <p>
+ * All values are seen from the player to move. Once a game is over, nobody can move, so the mobility,
+ * the extra-turn moves and the legal moves are zero and the store difference includes the stones that
+ * are collected at the end of the game.
+ */
+public final class BatchEvaluation {
+    final int[] scores;
+    final int[] storeDifferences;
+    final int[] mobilities;
+    final int[] extraTurnMoves;
+    final int[] legalMoves;
+    final boolean[] gameOver;
+
+    BatchEvaluation(final int size) {
+        this.scores = new int[size];
+        this.storeDifferences = new int[size];
+        this.mobilities = new int[size];
+        this.extraTurnMoves = new int[size];
+        this.legalMoves = new int[size];
+        this.gameOver = new boolean[size];
+    }
+
+    /**
+     * Gets the number of evaluated positions.
+     *
+     * @return the number of positions
+     */
+    public int size() {
+        return scores.length;
+    }
+
+    /**
+     * Gets the heuristic score of a position, higher is better for the player to move.
+     *
+     * @param position the index of the position
+     * @return the score
+     * @see BatchEvaluator#STORE_WEIGHT
+     * @see BatchEvaluator#EXTRA_TURN_WEIGHT
+     */
+    public int getScore(final int position) {
+        return scores[position];
+    }
+
+    /**
+     * Gets the stones in the store of the player to move minus the stones in the opponent's store.
+     *
+     * @param position the index of the position
+     * @return the store difference
+     */
+    public int getStoreDifference(final int position) {
+        return storeDifferences[position];
+    }
+
+    /**
+     * Gets the number of legal moves of the player to move.
+     *
+     * @param position the index of the position
+     * @return the mobility
+     */
+    public int getMobility(final int position) {
+        return mobilities[position];
+    }
+
+    /**
+     * Gets the number of legal moves whose last stone lands in the store of the player to move.
+     *
+     * @param position the index of the position
+     * @return the number of moves granting an extra turn
+     */
+    public int getExtraTurnMoves(final int position) {
+        return extraTurnMoves[position];
+    }
+
+    /**
+     * Gets the legal moves of the player to move. Bit {@code j} is set if the player's {@code j}-th pit,
+     * counted from the player's first pit, may be picked.
+     *
+     * @param position the index of the position
+     * @return the legal moves as a bit set
+     */
+    public int getLegalMoves(final int position) {
+        return legalMoves[position];
+    }
+
+    /**
+     * Checks if the game of a position is over.
+     *
+     * @param position the index of the position
+     * @return true if the game is over, false otherwise
+     */
+    public boolean isGameOver(final int position) {
+        return gameOver[position];
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.analysis;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates blocks of positions in bulk.
+ * <p>
+ * A block is split into chunks that are evaluated in parallel on all cores. Each chunk is evaluated with the
+ * Vector API if it is enabled and the JVM was started with {@code --add-modules jdk.incubator.vector}, and
+ * with loops the JIT can vectorize on its own otherwise. Both produce the same results.
+ */
+@Service
+public class BatchEvaluator {
+    /**
+     * The weight of a stone of store difference in the score.
+     */
+    public static final int STORE_WEIGHT = 4;
+    /**
+     * The weight of a move granting an extra turn in the score. Every legal move adds one more.
+     */
+    public static final int EXTRA_TURN_WEIGHT = 2;
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = BatchEvaluator.class.getPackageName() + ".VectorEvaluationKernel";
+    private static final int CHUNK_SIZE = 4096;
+
+    private final EvaluationKernel kernel;
+    /**
+     * Whether the Vector API is used.
+     */
+    @Getter
+    private final boolean vectorized;
+
+    /**
+     * Creates a new BatchEvaluator.
+     *
+     * @param useVectorApi whether to use the Vector API if it is available
+     */
+    public BatchEvaluator(@Value("${mancala.analysis.vector-api:true}") final boolean useVectorApi) {
+        this.vectorized = useVectorApi && isVectorApiAvailable();
+        this.kernel = vectorized ? createVectorKernel() : new ScalarEvaluationKernel();
+    }
+
+    /**
+     * Checks if the Vector API module was added to the JVM.
+     *
+     * @return true if the Vector API can be used, false otherwise
+     */
+    public static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    private static EvaluationKernel createVectorKernel() {
+        // The kernel is compiled in a step of its own with the incubating module, see the pom, so it is not linked here.
+        try {
+            return (EvaluationKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("The Vector API kernel cannot be created.", e);
+        }
+    }
+
+    /**
+     * Evaluates every position of the block.
+     *
+     * @param block the positions
+     * @return the evaluation, index by index like the block
+     */
+    public BatchEvaluation evaluate(final PositionBlock block) {
+        final BatchEvaluation result = new BatchEvaluation(block.size());
+        final int chunkCount = (block.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        IntStream.range(0, chunkCount).parallel().forEach(chunk -> kernel.evaluate(block, chunk * CHUNK_SIZE,
+                Math.min(block.size(), (chunk + 1) * CHUNK_SIZE), result));
+
+        return result;
+    }
+}
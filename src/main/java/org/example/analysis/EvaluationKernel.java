@@ -0,0 +1,16 @@
+package org.example.analysis;
+
+/**
+ * Evaluates a range of positions of a block.
+ */
+interface EvaluationKernel {
+    /**
+     * Evaluates the positions from {@code from} inclusive to {@code to} exclusive.
+     *
+     * @param block  the positions
+     * @param from   the first position
+     * @param to     the position after the last one
+     * @param result the evaluation to write to
+     */
+    void evaluate(PositionBlock block, int from, int to, BatchEvaluation result);
+}
@@ -0,0 +1,172 @@
+package org.example.analysis;
+
+import lombok.Getter;
+import org.example.model.Board;
+import org.example.model.Player;
+import org.example.rules.RuleVariant;
+import org.example.rules.SowingTables;
+
+/**
+ * Holds many positions of the same board configuration as a structure of arrays.
+ * <p>
+ * The stones are stored column by column: all positions' stones of pit 0, then all positions' stones of pit 1,
+ * and so on. An evaluation can then walk one pit across thousands of positions with unit stride, which is what
+ * lets the JIT or the Vector API process several positions per instruction.
+ * <p>
+ * A block is not thread-safe while it is filled. It may be evaluated by several threads once it is complete.
+ */
+public final class PositionBlock {
+    @Getter
+    private final int numberOfPitsPerPlayer;
+    @Getter
+    private final RuleVariant variant;
+    @Getter
+    private final int capacity;
+    @Getter
+    private final int pitCount;
+    private final SowingTables tables;
+    /**
+     * The stones of pit {@code p} in position {@code i} at {@code p * capacity + i}.
+     */
+    private final int[] pits;
+    /**
+     * The ordinal of the player to move in each position.
+     */
+    private final int[] currentPlayers;
+    private int size;
+    private int maxStonesInPit;
+
+    /**
+     * Creates an empty block.
+     *
+     * @param numberOfPitsPerPlayer the number of pits per player of the positions
+     * @param variant               the rules the positions are played with
+     * @param capacity              the maximum number of positions
+     * @throws IllegalArgumentException if a player has more pits than a legal move set can describe, or the
+     *                                  capacity is not positive
+     */
+    public PositionBlock(final int numberOfPitsPerPlayer, final RuleVariant variant, final int capacity) {
+        if (numberOfPitsPerPlayer > Integer.SIZE) {
+            throw new IllegalArgumentException("At most %d pits per player are supported but got %d."
+                    .formatted(Integer.SIZE, numberOfPitsPerPlayer));
+        } else if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive but got %d.".formatted(capacity));
+        }
+
+        this.tables = SowingTables.of(numberOfPitsPerPlayer, variant);
+        this.numberOfPitsPerPlayer = numberOfPitsPerPlayer;
+        this.variant = variant;
+        this.capacity = capacity;
+        this.pitCount = tables.getPitCount();
+        this.pits = new int[pitCount * capacity];
+        this.currentPlayers = new int[capacity];
+    }
+
+    /**
+     * Adds the position of the board.
+     *
+     * @param board the board
+     * @return the index of the position in the block
+     * @throws IllegalArgumentException if the board has a different configuration than the block
+     * @throws IllegalStateException    if the block is full
+     */
+    public int add(final Board board) {
+        if (board.getNumberOfPitsPerPlayer() != numberOfPitsPerPlayer || board.getVariant() != variant) {
+            throw new IllegalArgumentException("The block only accepts %s boards with %d pits per player."
+                    .formatted(variant, numberOfPitsPerPlayer));
+        }
+
+        return add(board.getPits(), board.getCurrentPlayer());
+    }
+
+    /**
+     * Adds a position.
+     *
+     * @param stones        the stones in each pit, including the stores
+     * @param currentPlayer the player to move
+     * @return the index of the position in the block
+     * @throws IllegalArgumentException if the number of pits does not match the block, or a pit has a
+     *                                  negative number of stones
+     * @throws IllegalStateException    if the block is full
+     */
+    public int add(final int[] stones, final Player currentPlayer) {
+        if (stones.length != pitCount) {
+            throw new IllegalArgumentException("Expected %d pits but got %d.".formatted(pitCount, stones.length));
+        } else if (size == capacity) {
+            throw new IllegalStateException("The block is full with %d positions.".formatted(capacity));
+        }
+
+        for (int pit = 0; pit < pitCount; pit++) {
+            if (stones[pit] < 0) {
+                throw new IllegalArgumentException("Pit %d has %d stones.".formatted(pit, stones[pit]));
+            }
+
+            pits[pit * capacity + size] = stones[pit];
+            maxStonesInPit = Math.max(maxStonesInPit, stones[pit]);
+        }
+
+        currentPlayers[size] = currentPlayer.ordinal();
+
+        return size++;
+    }
+
+    /**
+     * Gets the number of stones in a pit of a position.
+     *
+     * @param position the index of the position
+     * @param pit      the index of the pit
+     * @return the number of stones
+     */
+    public int getStones(final int position, final int pit) {
+        return pits[pit * capacity + position];
+    }
+
+    /**
+     * Gets the player to move in a position.
+     *
+     * @param position the index of the position
+     * @return the player to move
+     */
+    public Player getCurrentPlayer(final int position) {
+        return Player.values()[currentPlayers[position]];
+    }
+
+    /**
+     * Gets the number of positions in the block.
+     *
+     * @return the number of positions
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all positions, so the block can be filled again.
+     */
+    public void clear() {
+        size = 0;
+        maxStonesInPit = 0;
+    }
+
+    SowingTables tables() {
+        return tables;
+    }
+
+    int[] pits() {
+        return pits;
+    }
+
+    int[] currentPlayers() {
+        return currentPlayers;
+    }
+
+    /**
+     * Gets the number of laps around the board the largest pit of the block can make, which bounds how many
+     * sowing distances lead into a store.
+     *
+     * @return the number of full laps
+     */
+    int maxLaps() {
+        return maxStonesInPit / tables.getLapLength();
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.analysis;
+
+import org.example.model.Player;
+import org.example.rules.SowingTables;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates positions with plain loops the JIT can vectorize.
+ * <p>
+ * Every loop walks one pit across all positions of the range with unit stride and without branches, so C2's
+ * superword optimization can turn it into SIMD instructions. C2 only vectorizes loops whose arrays are all
+ * indexed alike, so each slice of a column is copied to a chunk-local array first and the results are copied
+ * back at the end. The per-position results are accumulated for both players and then combined for the
+ * player to move with masks instead of conditions.
+ */
+final class ScalarEvaluationKernel implements EvaluationKernel {
+
+    @Override
+    public void evaluate(final PositionBlock block, final int from, final int to, final BatchEvaluation result) {
+        final int length = to - from;
+        final int[] column = new int[length];
+        final SideTotals one = accumulate(block, Player.ONE, from, column);
+        final SideTotals two = accumulate(block, Player.TWO, from, column);
+
+        final SowingTables tables = block.tables();
+        final int[] storesOne = slice(block, tables.getStoreIndex(Player.ONE), from, length);
+        final int[] storesTwo = slice(block, tables.getStoreIndex(Player.TWO), from, length);
+        final int[] players = Arrays.copyOfRange(block.currentPlayers(), from, to);
+        final int[] scores = new int[length];
+        final int[] storeDifferences = new int[length];
+        final int[] mobilities = new int[length];
+        final int[] extraTurnMoves = new int[length];
+        final int[] legalMoves = new int[length];
+        final boolean[] gameOver = new boolean[length];
+
+        for (int i = 0; i < length; i++) {
+            // All bits set if a side has no moves left, as the mobilities are never negative.
+            final int over = ((one.mobilities[i] - 1) | (two.mobilities[i] - 1)) >> 31;
+            final int playerTwo = -players[i];
+            final int difference = storesOne[i] - storesTwo[i] + ((one.stones[i] - two.stones[i]) & over);
+            final int storeDifference = (difference ^ playerTwo) - playerTwo;
+            final int mobility = select(one.mobilities[i], two.mobilities[i], playerTwo) & ~over;
+            final int extraTurns = select(one.extraTurnMoves[i], two.extraTurnMoves[i], playerTwo) & ~over;
+
+            storeDifferences[i] = storeDifference;
+            mobilities[i] = mobility;
+            extraTurnMoves[i] = extraTurns;
+            legalMoves[i] = select(one.legalMoves[i], two.legalMoves[i], playerTwo) & ~over;
+            scores[i] = BatchEvaluator.STORE_WEIGHT * storeDifference + BatchEvaluator.EXTRA_TURN_WEIGHT * extraTurns + mobility;
+        }
+
+        for (int i = 0; i < length; i++) {
+            gameOver[i] = one.mobilities[i] == 0 | two.mobilities[i] == 0;
+        }
+
+        System.arraycopy(scores, 0, result.scores, from, length);
+        System.arraycopy(storeDifferences, 0, result.storeDifferences, from, length);
+        System.arraycopy(mobilities, 0, result.mobilities, from, length);
+        System.arraycopy(extraTurnMoves, 0, result.extraTurnMoves, from, length);
+        System.arraycopy(legalMoves, 0, result.legalMoves, from, length);
+        System.arraycopy(gameOver, 0, result.gameOver, from, length);
+    }
+
+    /**
+     * Adds up the pits of one player for the positions of the range.
+     *
+     * @param block  the positions
+     * @param player the player whose pits are added up
+     * @param from   the first position
+     * @param column the chunk-local array each pit is copied to
+     * @return the totals of the player
+     */
+    private static SideTotals accumulate(final PositionBlock block, final Player player, final int from, final int[] column) {
+        final SowingTables tables = block.tables();
+        final int length = column.length;
+        final int firstPit = tables.getFirstPit(player);
+        final int maxLaps = block.maxLaps();
+        final int[] mobilities = new int[length];
+        final int[] stones = new int[length];
+        final int[] extraTurnMoves = new int[length];
+        final int[] legalMoves = new int[length];
+
+        for (int j = 0; j < block.getNumberOfPitsPerPlayer(); j++) {
+            System.arraycopy(block.pits(), (firstPit + j) * block.getCapacity() + from, column, 0, length);
+
+            final int bit = j;
+
+            for (int i = 0; i < length; i++) {
+                // The stones are never negative, so the sign bit of their negation tells if there are any.
+                final int nonEmpty = -column[i] >>> 31;
+
+                mobilities[i] += nonEmpty;
+                stones[i] += column[i];
+                legalMoves[i] |= nonEmpty << bit;
+            }
+
+            // The last stone lands in the store if the stones cover the distance to it plus any number of laps.
+            for (int lap = 0; lap <= maxLaps; lap++) {
+                final int distance = tables.getStoreIndex(player) - (firstPit + j) + lap * tables.getLapLength();
+
+                for (int i = 0; i < length; i++) {
+                    final int difference = column[i] ^ distance;
+                    extraTurnMoves[i] += 1 - ((difference | -difference) >>> 31);
+                }
+            }
+        }
+
+        return new SideTotals(mobilities, stones, extraTurnMoves, legalMoves);
+    }
+
+    private static int[] slice(final PositionBlock block, final int pit, final int from, final int length) {
+        final int offset = pit * block.getCapacity() + from;
+        return Arrays.copyOfRange(block.pits(), offset, offset + length);
+    }
+
+    /**
+     * Picks one of two values without a branch.
+     *
+     * @param first  the value if the mask is zero
+     * @param second the value if all bits of the mask are set
+     * @param mask   zero or minus one
+     * @return the picked value
+     */
+    private static int select(final int first, final int second, final int mask) {
+        return first ^ ((first ^ second) & mask);
+    }
+
+    /**
+     * Holds the totals of one player's pits for a range of positions.
+     */
+    private record SideTotals(int[] mobilities, int[] stones, int[] extraTurnMoves, int[] legalMoves) {
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.analysis;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.example.model.Player;
+import org.example.rules.SowingTables;
+
+/**
+ * Evaluates positions with the Vector API, as many positions per instruction as the CPU's preferred vector
+ * width holds.
+ * <p>
+ * The class may only be loaded if the {@code jdk.incubator.vector} module is present, see
+ * {@link BatchEvaluator#isVectorApiAvailable()}. The positions left over after the last full vector are
+ * evaluated by the {@link ScalarEvaluationKernel}.
+ */
+final class VectorEvaluationKernel implements EvaluationKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private final EvaluationKernel tail = new ScalarEvaluationKernel();
+
+    @Override
+    public void evaluate(final PositionBlock block, final int from, final int to, final BatchEvaluation result) {
+        final int upperBound = from + SPECIES.loopBound(to - from);
+
+        for (int i = from; i < upperBound; i += SPECIES.length()) {
+            evaluateVector(block, i, result);
+        }
+
+        if (upperBound < to) {
+            tail.evaluate(block, upperBound, to, result);
+        }
+    }
+
+    /**
+     * Evaluates the positions of one vector.
+     * <p>
+     * Everything happens in this one method, so the JIT keeps all vectors in registers. Vectors passed between
+     * methods that are not inlined would have to be boxed, which is slower than the scalar loops.
+     *
+     * @param block    the positions
+     * @param position the first position of the vector
+     * @param result   the evaluation to write to
+     */
+    private static void evaluateVector(final PositionBlock block, final int position, final BatchEvaluation result) {
+        final SowingTables tables = block.tables();
+        final int[] pits = block.pits();
+        final int capacity = block.getCapacity();
+        final int lapLength = tables.getLapLength();
+        final int maxLaps = block.maxLaps();
+        final int firstPitOne = tables.getFirstPit(Player.ONE);
+        final int firstPitTwo = tables.getFirstPit(Player.TWO);
+        final int storeOne = tables.getStoreIndex(Player.ONE);
+        final int storeTwo = tables.getStoreIndex(Player.TWO);
+        IntVector mobilityOne = IntVector.zero(SPECIES);
+        IntVector mobilityTwo = IntVector.zero(SPECIES);
+        IntVector stonesOne = IntVector.zero(SPECIES);
+        IntVector stonesTwo = IntVector.zero(SPECIES);
+        IntVector extraTurnMovesOne = IntVector.zero(SPECIES);
+        IntVector extraTurnMovesTwo = IntVector.zero(SPECIES);
+        IntVector legalMovesOne = IntVector.zero(SPECIES);
+        IntVector legalMovesTwo = IntVector.zero(SPECIES);
+
+        for (int j = 0; j < block.getNumberOfPitsPerPlayer(); j++) {
+            final IntVector pitOne = IntVector.fromArray(SPECIES, pits, (firstPitOne + j) * capacity + position);
+            final IntVector pitTwo = IntVector.fromArray(SPECIES, pits, (firstPitTwo + j) * capacity + position);
+            final VectorMask<Integer> nonEmptyOne = pitOne.compare(VectorOperators.GT, 0);
+            final VectorMask<Integer> nonEmptyTwo = pitTwo.compare(VectorOperators.GT, 0);
+
+            mobilityOne = mobilityOne.add(1, nonEmptyOne);
+            mobilityTwo = mobilityTwo.add(1, nonEmptyTwo);
+            stonesOne = stonesOne.add(pitOne);
+            stonesTwo = stonesTwo.add(pitTwo);
+            legalMovesOne = legalMovesOne.lanewise(VectorOperators.OR, 1 << j, nonEmptyOne);
+            legalMovesTwo = legalMovesTwo.lanewise(VectorOperators.OR, 1 << j, nonEmptyTwo);
+
+            // The last stone lands in the store if the stones cover the distance to it plus any number of laps.
+            for (int lap = 0; lap <= maxLaps; lap++) {
+                final int distanceOne = storeOne - (firstPitOne + j) + lap * lapLength;
+                final int distanceTwo = storeTwo - (firstPitTwo + j) + lap * lapLength;
+
+                extraTurnMovesOne = extraTurnMovesOne.add(1, pitOne.compare(VectorOperators.EQ, distanceOne));
+                extraTurnMovesTwo = extraTurnMovesTwo.add(1, pitTwo.compare(VectorOperators.EQ, distanceTwo));
+            }
+        }
+
+        final VectorMask<Integer> gameOver = mobilityOne.compare(VectorOperators.EQ, 0)
+                .or(mobilityTwo.compare(VectorOperators.EQ, 0));
+        final VectorMask<Integer> playerTwo = IntVector.fromArray(SPECIES, block.currentPlayers(), position)
+                .compare(VectorOperators.NE, 0);
+        final IntVector difference = IntVector.fromArray(SPECIES, pits, storeOne * capacity + position)
+                .sub(IntVector.fromArray(SPECIES, pits, storeTwo * capacity + position))
+                .add(stonesOne.sub(stonesTwo), gameOver);
+        final IntVector storeDifference = difference.blend(difference.neg(), playerTwo);
+        final IntVector mobility = mobilityOne.blend(mobilityTwo, playerTwo).blend(0, gameOver);
+        final IntVector extraTurnMoves = extraTurnMovesOne.blend(extraTurnMovesTwo, playerTwo).blend(0, gameOver);
+        final IntVector legalMoves = legalMovesOne.blend(legalMovesTwo, playerTwo).blend(0, gameOver);
+
+        storeDifference.intoArray(result.storeDifferences, position);
+        mobility.intoArray(result.mobilities, position);
+        extraTurnMoves.intoArray(result.extraTurnMoves, position);
+        legalMoves.intoArray(result.legalMoves, position);
+        gameOver.intoArray(result.gameOver, position);
+        storeDifference.mul(BatchEvaluator.STORE_WEIGHT)
+                .add(extraTurnMoves.mul(BatchEvaluator.EXTRA_TURN_WEIGHT))
+                .add(mobility)
+                .intoArray(result.scores, position);
+    }
+}
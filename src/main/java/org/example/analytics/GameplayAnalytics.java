@@ -0,0 +1,299 @@
+package org.example.analytics;
+
+import jakarta.annotation.PreDestroy;
+import org.example.model.BoardSnapshot;
+import org.example.model.BoardState;
+import org.example.model.Player;
+import org.example.model.Winner;
+import org.example.rules.SowingTables;
+import org.example.service.BoardChangeListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Aggregates the moves made on this node into rolling gameplay statistics.
+ * <p>
+ * The move path only packs the move into an int and offers it to a {@link MoveEventRing}, which never blocks.
+ * A background thread drains the ring, adds the events to time buckets covering the window, and publishes an
+ * immutable {@link GameplayStats} that readers get without touching the buckets.
+ * <p>
+ * Game lengths are only known for games whose first move was seen, since the board does not count its moves.
+ */
+@Service
+public class GameplayAnalytics implements BoardChangeListener {
+    private static final int PIT_BITS = 16;
+    private static final int PIT_MASK = (1 << PIT_BITS) - 1;
+    private static final int PLAYER_TWO_FLAG = 1 << PIT_BITS;
+    private static final int EXTRA_TURN_FLAG = PLAYER_TWO_FLAG << 1;
+    private static final int FIRST_MOVE_FLAG = EXTRA_TURN_FLAG << 1;
+    private static final int OUTCOME_SHIFT = PIT_BITS + 3;
+    private static final int NO_OUTCOME = 0;
+    private static final int PLAYER_ONE_WINS = 1;
+    private static final int PLAYER_TWO_WINS = 2;
+    private static final int TIE = 3;
+
+    private final MoveEventRing ring;
+    private final LongSupplier clock;
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+    private final int maxTrackedGames;
+    private final Map<Long, Integer> movesByGame = new HashMap<>();
+    private final ScheduledExecutorService aggregator;
+    private volatile GameplayStats stats;
+
+    /**
+     * Creates a new GameplayAnalytics that drains the events in the background.
+     *
+     * @param ringCapacity        the number of events buffered between the moves and the aggregator
+     * @param windowSeconds       the length of the window covered by the statistics
+     * @param bucketSeconds       the granularity at which old moves leave the window
+     * @param drainIntervalMillis the pause of the aggregator between two drains
+     * @param maxTrackedGames     the number of running games whose moves are counted for the game length
+     */
+    @Autowired
+    public GameplayAnalytics(@Value("${mancala.analytics.ring-capacity:65536}") final int ringCapacity,
+                             @Value("${mancala.analytics.window-seconds:300}") final int windowSeconds,
+                             @Value("${mancala.analytics.bucket-seconds:10}") final int bucketSeconds,
+                             @Value("${mancala.analytics.drain-interval-millis:100}") final long drainIntervalMillis,
+                             @Value("${mancala.analytics.max-tracked-games:100000}") final int maxTrackedGames) {
+        this(ringCapacity, windowSeconds, bucketSeconds, maxTrackedGames, System::currentTimeMillis);
+
+        aggregator.scheduleWithFixedDelay(this::drain, drainIntervalMillis, drainIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new GameplayAnalytics that only drains the events when {@link #drain()} is called.
+     *
+     * @param ringCapacity    the number of events buffered between the moves and the aggregator
+     * @param windowSeconds   the length of the window covered by the statistics
+     * @param bucketSeconds   the granularity at which old moves leave the window
+     * @param maxTrackedGames the number of running games whose moves are counted for the game length
+     * @param clock           the source of the current time in milliseconds
+     */
+    GameplayAnalytics(final int ringCapacity, final int windowSeconds, final int bucketSeconds,
+                      final int maxTrackedGames, final LongSupplier clock) {
+        if (bucketSeconds <= 0 || windowSeconds < bucketSeconds) {
+            throw new IllegalArgumentException("The window of %d seconds must hold at least one bucket of %d seconds."
+                    .formatted(windowSeconds, bucketSeconds));
+        }
+
+        this.ring = new MoveEventRing(ringCapacity);
+        this.clock = clock;
+        this.bucketMillis = TimeUnit.SECONDS.toMillis(bucketSeconds);
+        this.buckets = new Bucket[windowSeconds / bucketSeconds];
+        this.maxTrackedGames = maxTrackedGames;
+        this.aggregator = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("analytics-aggregator").daemon().factory());
+
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+
+        this.stats = summarize(clock.getAsLong() / bucketMillis);
+    }
+
+    @Override
+    public void onBoardChanged(final BoardState state) {
+        // Resets carry no gameplay, the moves arrive through onMoveMade.
+    }
+
+    @Override
+    public void onMoveMade(final long gameId, final BoardSnapshot previous, final BoardSnapshot next) {
+        final Player player = previous.getCurrentPlayer();
+        final int firstPit = SowingTables.of(previous.getNumberOfPitsPerPlayer(), previous.getVariant()).getFirstPit(player);
+        int event = (next.getLastPickedPit() - firstPit) & PIT_MASK;
+
+        if (player == Player.TWO) {
+            event |= PLAYER_TWO_FLAG;
+        }
+        if (next.getWinner() == null && next.getCurrentPlayer() == player) {
+            event |= EXTRA_TURN_FLAG;
+        }
+        if (previous.isStartOfGame()) {
+            event |= FIRST_MOVE_FLAG;
+        }
+
+        ring.offer(gameId, event | outcome(next.getWinner()) << OUTCOME_SHIFT);
+    }
+
+    /**
+     * Gets the statistics as of the last drain.
+     *
+     * @return the statistics
+     */
+    public GameplayStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Aggregates the events published since the last drain and publishes new statistics.
+     */
+    synchronized void drain() {
+        final long bucketId = clock.getAsLong() / bucketMillis;
+        final Bucket bucket = bucketFor(bucketId);
+
+        ring.drain((gameId, event) -> aggregate(bucket, gameId, event));
+        stats = summarize(bucketId);
+    }
+
+    /**
+     * Stops the aggregator. Events published afterwards are never aggregated.
+     */
+    @PreDestroy
+    public void close() {
+        aggregator.shutdownNow();
+    }
+
+    private void aggregate(final Bucket bucket, final long gameId, final int event) {
+        final int player = (event & PLAYER_TWO_FLAG) != 0 ? Player.TWO.ordinal() : Player.ONE.ordinal();
+        final int outcome = event >>> OUTCOME_SHIFT;
+
+        bucket.moves++;
+        bucket.countPitChoice(player, event & PIT_MASK);
+
+        if ((event & EXTRA_TURN_FLAG) != 0) {
+            bucket.extraTurns++;
+        }
+
+        final boolean firstMove = (event & FIRST_MOVE_FLAG) != 0;
+
+        if (firstMove && movesByGame.size() >= maxTrackedGames) {
+            // Abandoned games are never removed, so start over instead of no longer measuring new games.
+            movesByGame.clear();
+        }
+
+        final Integer movesSoFar = firstMove ? Integer.valueOf(0) : movesByGame.get(gameId);
+
+        if (outcome != NO_OUTCOME) {
+            movesByGame.remove(gameId);
+            bucket.countOutcome(outcome, movesSoFar == null ? 0 : movesSoFar + 1);
+        } else if (movesSoFar != null) {
+            movesByGame.put(gameId, movesSoFar + 1);
+        }
+    }
+
+    private Bucket bucketFor(final long bucketId) {
+        final Bucket bucket = buckets[(int) (bucketId % buckets.length)];
+
+        if (bucket.id != bucketId) {
+            bucket.reset(bucketId);
+        }
+
+        return bucket;
+    }
+
+    private GameplayStats summarize(final long currentBucketId) {
+        final Bucket total = new Bucket();
+
+        for (final Bucket bucket : buckets) {
+            if (bucket.id > currentBucketId - buckets.length) {
+                total.add(bucket);
+            }
+        }
+
+        final long decided = total.playerOneWins + total.playerTwoWins;
+        final Map<Player, long[]> pitChoices = new EnumMap<>(Player.class);
+
+        for (final Player player : Player.values()) {
+            pitChoices.put(player, total.pitChoices[player.ordinal()].clone());
+        }
+
+        return new GameplayStats(buckets.length * bucketMillis / 1000, total.moves, total.extraTurns,
+                ratio(total.extraTurns, total.moves), pitChoices, total.gamesFinished, total.playerOneWins,
+                total.playerTwoWins, total.ties, ratio(total.playerOneWins, decided),
+                ratio(total.gameLengthSum, total.gamesWithLength), total.longestGame, ring.getDroppedCount());
+    }
+
+    private static int outcome(final Winner winner) {
+        return switch (winner) {
+            case null -> NO_OUTCOME;
+            case Winner.PlayerWinner playerWinner -> playerWinner.player() == Player.ONE ? PLAYER_ONE_WINS : PLAYER_TWO_WINS;
+            case Winner.Tie ignored -> TIE;
+        };
+    }
+
+    private static double ratio(final long count, final long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+
+    /**
+     * Holds the counters of the moves aggregated during one time slice. Only used by the aggregator.
+     */
+    private static final class Bucket {
+        private long id = Long.MIN_VALUE;
+        private long moves;
+        private long extraTurns;
+        private long[][] pitChoices = {new long[0], new long[0]};
+        private long gamesFinished;
+        private long playerOneWins;
+        private long playerTwoWins;
+        private long ties;
+        private long gameLengthSum;
+        private long gamesWithLength;
+        private long longestGame;
+
+        private void reset(final long newId) {
+            id = newId;
+            moves = extraTurns = gamesFinished = playerOneWins = playerTwoWins = ties = 0;
+            gameLengthSum = gamesWithLength = longestGame = 0;
+            Arrays.fill(pitChoices[0], 0);
+            Arrays.fill(pitChoices[1], 0);
+        }
+
+        private void countPitChoice(final int player, final int pit) {
+            if (pit >= pitChoices[player].length) {
+                pitChoices[player] = Arrays.copyOf(pitChoices[player], pit + 1);
+            }
+
+            pitChoices[player][pit]++;
+        }
+
+        private void countOutcome(final int outcome, final int gameLength) {
+            gamesFinished++;
+
+            switch (outcome) {
+                case PLAYER_ONE_WINS -> playerOneWins++;
+                case PLAYER_TWO_WINS -> playerTwoWins++;
+                default -> ties++;
+            }
+
+            if (gameLength > 0) {
+                gameLengthSum += gameLength;
+                gamesWithLength++;
+                longestGame = Math.max(longestGame, gameLength);
+            }
+        }
+
+        private void add(final Bucket other) {
+            moves += other.moves;
+            extraTurns += other.extraTurns;
+            gamesFinished += other.gamesFinished;
+            playerOneWins += other.playerOneWins;
+            playerTwoWins += other.playerTwoWins;
+            ties += other.ties;
+            gameLengthSum += other.gameLengthSum;
+            gamesWithLength += other.gamesWithLength;
+            longestGame = Math.max(longestGame, other.longestGame);
+
+            for (int player = 0; player < pitChoices.length; player++) {
+                if (other.pitChoices[player].length > pitChoices[player].length) {
+                    pitChoices[player] = Arrays.copyOf(pitChoices[player], other.pitChoices[player].length);
+                }
+
+                for (int pit = 0; pit < other.pitChoices[player].length; pit++) {
+                    pitChoices[player][pit] += other.pitChoices[player][pit];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.analytics;
+
+import org.example.model.Player;
+
+import java.util.Map;
+
+/**
+ * Represents the gameplay aggregates of the recent moves and games on this node.
+ *
+ * @param windowSeconds      the length of the window the aggregates cover
+ * @param moves              the number of moves made
+ * @param extraTurns         the number of moves that granted an extra turn
+ * @param extraTurnRate      the share of moves that granted an extra turn
+ * @param pitChoices         the number of times each pit was picked, by player, counted from the first pit of the player
+ * @param gamesFinished      the number of games that ended
+ * @param playerOneWins      the number of games won by the player who moved first
+ * @param playerTwoWins      the number of games won by the other player
+ * @param ties               the number of tied games
+ * @param firstPlayerWinRate the share of decided games won by the player who moved first
+ * @param averageGameLength  the average number of moves of the ended games whose first move was seen
+ * @param longestGame        the largest number of moves of such a game
+ * @param droppedEvents      the number of move events dropped since startup because the aggregator fell behind
+ */
+public record GameplayStats(long windowSeconds, long moves, long extraTurns, double extraTurnRate,
+                            Map<Player, long[]> pitChoices, long gamesFinished, long playerOneWins,
+                            long playerTwoWins, long ties, double firstPlayerWinRate, double averageGameLength,
+                            long longestGame, long droppedEvents) {
+}
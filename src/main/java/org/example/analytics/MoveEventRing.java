@@ -0,0 +1,111 @@
+package org.example.analytics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded lock-free queue of move events with many producers and a single consumer.
+ * <p>
+ * Producers claim a sequence with a compare-and-set, write the event into the slot of the sequence and publish
+ * the slot by storing the sequence in it. They never wait: if the consumer is a full ring behind, the event is
+ * dropped and counted instead. Events are packed into primitives, so publishing does not allocate.
+ */
+final class MoveEventRing {
+    private final int mask;
+    private final long[] gameIds;
+    private final int[] events;
+    private final AtomicLongArray publishedSequences;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long consumedSequence;
+
+    /**
+     * Creates a new MoveEventRing.
+     *
+     * @param capacity the number of events the ring can hold, rounded up to a power of two
+     */
+    MoveEventRing(final int capacity) {
+        final int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+
+        this.mask = size - 1;
+        this.gameIds = new long[size];
+        this.events = new int[size];
+        this.publishedSequences = new AtomicLongArray(size);
+
+        for (int i = 0; i < size; i++) {
+            publishedSequences.set(i, -1);
+        }
+    }
+
+    /**
+     * Publishes an event, or drops it if the ring is full.
+     *
+     * @param gameId the id of the game
+     * @param event  the packed event
+     * @return true if the event was published, false if it was dropped
+     */
+    boolean offer(final long gameId, final int event) {
+        long sequence;
+
+        do {
+            sequence = nextSequence.get();
+
+            if (sequence - consumedSequence > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!nextSequence.compareAndSet(sequence, sequence + 1));
+
+        final int slot = (int) sequence & mask;
+        gameIds[slot] = gameId;
+        events[slot] = event;
+        // The release store makes the fields above visible to the consumer that sees the sequence.
+        publishedSequences.setRelease(slot, sequence);
+
+        return true;
+    }
+
+    /**
+     * Takes all published events in order. Must only be called by one thread at a time.
+     *
+     * @param consumer the consumer of the events
+     * @return the number of events taken
+     */
+    int drain(final MoveEventConsumer consumer) {
+        long sequence = consumedSequence;
+        int count = 0;
+
+        while (true) {
+            final int slot = (int) sequence & mask;
+
+            if (publishedSequences.getAcquire(slot) != sequence) {
+                break;
+            }
+
+            consumer.accept(gameIds[slot], events[slot]);
+            sequence++;
+            count++;
+            // Hand the slot back to the producers one event at a time, so they do not drop while we aggregate.
+            consumedSequence = sequence;
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of events dropped because the ring was full.
+     *
+     * @return the number of dropped events
+     */
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Consumes the events taken from the ring.
+     */
+    @FunctionalInterface
+    interface MoveEventConsumer {
+        void accept(long gameId, int event);
+    }
+}
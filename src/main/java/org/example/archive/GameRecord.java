@@ -0,0 +1,60 @@
+package org.example.archive;
+
+import org.example.model.Board;
+import org.example.rules.RuleVariant;
+
+import java.util.Arrays;
+
+/**
+ * Represents a finished or unfinished game as its configuration and the pits picked, in order.
+ * <p>
+ * Every other state of the game can be rebuilt by replaying the picked pits on a new board,
+ * see {@link GameReplayer}.
+ *
+ * @param numberOfPitsPerPlayer the number of pits per player
+ * @param stonesPerPit          the number of stones per pit
+ * @param variant               the rules the game was played with
+ * @param pickedPits            the indices of the picked pits, in the order they were picked
+ */
+public record GameRecord(int numberOfPitsPerPlayer, int stonesPerPit, RuleVariant variant, int[] pickedPits) {
+
+    /**
+     * Creates a record of a game played with the {@link RuleVariant#CLASSIC} rules.
+     *
+     * @param numberOfPitsPerPlayer the number of pits per player
+     * @param stonesPerPit          the number of stones per pit
+     * @param pickedPits            the indices of the picked pits, in the order they were picked
+     */
+    public GameRecord(final int numberOfPitsPerPlayer, final int stonesPerPit, final int[] pickedPits) {
+        this(numberOfPitsPerPlayer, stonesPerPit, RuleVariant.CLASSIC, pickedPits);
+    }
+
+    /**
+     * Creates a new board with the configuration of the game.
+     *
+     * @return the board before the first move
+     */
+    public Board newBoard() {
+        return new Board(numberOfPitsPerPlayer, stonesPerPit, variant);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof GameRecord record
+                && numberOfPitsPerPlayer == record.numberOfPitsPerPlayer
+                && stonesPerPit == record.stonesPerPit
+                && variant == record.variant
+                && Arrays.equals(pickedPits, record.pickedPits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * numberOfPitsPerPlayer + stonesPerPit) + variant.hashCode()) + Arrays.hashCode(pickedPits);
+    }
+
+    @Override
+    public String toString() {
+        return "GameRecord[numberOfPitsPerPlayer=%d, stonesPerPit=%d, variant=%s, pickedPits=%s]"
+                .formatted(numberOfPitsPerPlayer, stonesPerPit, variant, Arrays.toString(pickedPits));
+    }
+}
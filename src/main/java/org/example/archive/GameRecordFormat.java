@@ -0,0 +1,32 @@
+package org.example.archive;
+
+/**
+ * Describes the binary layout shared by {@link GameRecordWriter} and {@link GameRecordReader}.
+ * <p>
+ * A stream starts with the {@link #MAGIC} number and the {@link #FORMAT_VERSION} byte, followed by any
+ * number of blocks. Every block starts with a header of three big-endian ints: the payload length in bytes,
+ * the number of games in the payload and the CRC32C checksum of the payload. The payload holds the games
+ * back to back, each as unsigned LEB128 varints: the number of pits per player, the stones per pit, the
+ * ordinal of the rule variant, the number of picked pits and then every picked pit index. Streams of the
+ * {@link #CLASSIC_FORMAT_VERSION} have no rule variant and only hold classic games.
+ * <p>
+ * Blocks are self-contained, so a stream can be read, verified and decoded block by block.
+ */
+final class GameRecordFormat {
+    /**
+     * The magic number of a game record stream, "MGR" followed by 0x01.
+     */
+    static final int MAGIC = 0x4D475201;
+    static final byte FORMAT_VERSION = 2;
+    /**
+     * The format version written before games had rule variants.
+     */
+    static final byte CLASSIC_FORMAT_VERSION = 1;
+    static final int BLOCK_HEADER_SIZE = 3 * Integer.BYTES;
+    static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    static final int MAX_BLOCK_SIZE = 64 * 1024 * 1024;
+    static final int MAX_VARINT_SIZE = 5;
+
+    private GameRecordFormat() {
+    }
+}
@@ -0,0 +1,228 @@
+package org.example.archive;
+
+import org.example.exception.GameRecordFormatException;
+import org.example.model.Board;
+import org.example.rules.RuleVariant;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads game records written by {@link GameRecordWriter}.
+ * <p>
+ * Every block is verified against its checksum before any of its games are returned. Streams of the previous
+ * format version are read as games with the {@link RuleVariant#CLASSIC} rules.
+ */
+public class GameRecordReader implements Closeable {
+    private final DataInputStream in;
+    private final CRC32C checksum = new CRC32C();
+    private final byte formatVersion;
+    private byte[] block = new byte[GameRecordFormat.DEFAULT_BLOCK_SIZE];
+    private int position;
+    private int limit;
+    private int remainingGames;
+
+    /**
+     * Creates a new GameRecordReader and verifies the stream header.
+     *
+     * @param in the stream to read from
+     * @throws GameRecordFormatException if the stream is not a game record stream
+     * @throws IOException               if the header cannot be read
+     */
+    public GameRecordReader(final InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+
+        try {
+            if (this.in.readInt() != GameRecordFormat.MAGIC) {
+                throw new GameRecordFormatException("The stream is not a game record stream.");
+            }
+
+            formatVersion = this.in.readByte();
+        } catch (EOFException e) {
+            throw new GameRecordFormatException("The stream ended inside the header.");
+        }
+
+        if (formatVersion != GameRecordFormat.FORMAT_VERSION && formatVersion != GameRecordFormat.CLASSIC_FORMAT_VERSION) {
+            throw new GameRecordFormatException("Unsupported game record format version %d.".formatted(formatVersion));
+        }
+    }
+
+    /**
+     * Reads all remaining games of the stream.
+     *
+     * @param in the stream to read from
+     * @return the games in the order they were written
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public static List<GameRecord> readAll(final InputStream in) throws IOException {
+        try (GameRecordReader reader = new GameRecordReader(in)) {
+            final List<GameRecord> records = new ArrayList<>();
+
+            for (GameRecord record = reader.read(); record != null; record = reader.read()) {
+                records.add(record);
+            }
+
+            return records;
+        }
+    }
+
+    /**
+     * Reads the games of the next block, or the rest of the current one if it was partly read with {@link #read()}.
+     * <p>
+     * Reading block by block keeps at most one block of games in memory, however long the stream is.
+     *
+     * @return the games in the order they were written, or an empty list at the end of the stream
+     * @throws GameRecordFormatException if the stream is malformed or the block is corrupted
+     * @throws IOException               if the stream cannot be read
+     */
+    public List<GameRecord> readBlockOfGames() throws IOException {
+        if (remainingGames == 0 && !readBlock()) {
+            return List.of();
+        }
+
+        final List<GameRecord> records = new ArrayList<>();
+
+        while (remainingGames > 0) {
+            records.add(read());
+        }
+
+        return records;
+    }
+
+    /**
+     * Reads the next game.
+     *
+     * @return the next game, or null at the end of the stream
+     * @throws GameRecordFormatException if the stream is malformed or a block is corrupted
+     * @throws IOException               if the stream cannot be read
+     */
+    public GameRecord read() throws IOException {
+        while (remainingGames == 0) {
+            if (!readBlock()) {
+                return null;
+            }
+        }
+
+        final int numberOfPitsPerPlayer = readVarint();
+        final int stonesPerPit = readVarint();
+
+        if (!Board.isSupportedSize(numberOfPitsPerPlayer, stonesPerPit)) {
+            throw new GameRecordFormatException("A game has an unsupported board of %d pits and %d stones per pit."
+                    .formatted(numberOfPitsPerPlayer, stonesPerPit));
+        }
+
+        final RuleVariant variant = formatVersion == GameRecordFormat.CLASSIC_FORMAT_VERSION
+                ? RuleVariant.CLASSIC
+                : readVariant();
+        final int moveCount = readVarint();
+
+        if (moveCount > limit - position) {
+            throw new GameRecordFormatException("A game claims %d moves but its block is too short.".formatted(moveCount));
+        }
+
+        final int[] pickedPits = new int[moveCount];
+
+        for (int i = 0; i < moveCount; i++) {
+            pickedPits[i] = readVarint();
+        }
+
+        remainingGames--;
+
+        if (remainingGames == 0 && position != limit) {
+            throw new GameRecordFormatException("A block has %d unexpected trailing bytes.".formatted(limit - position));
+        }
+
+        return new GameRecord(numberOfPitsPerPlayer, stonesPerPit, variant, pickedPits);
+    }
+
+    private RuleVariant readVariant() throws GameRecordFormatException {
+        final int ordinal = readVarint();
+
+        if (ordinal >= RuleVariant.values().length) {
+            throw new GameRecordFormatException("A game has the unknown rule variant %d.".formatted(ordinal));
+        }
+
+        return RuleVariant.values()[ordinal];
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Reads and verifies the next block.
+     *
+     * @return false at the end of the stream, true otherwise
+     */
+    private boolean readBlock() throws IOException {
+        final int firstByte = in.read();
+
+        if (firstByte < 0) {
+            return false;
+        }
+
+        try {
+            final int payloadLength = (firstByte << 24) | (in.readUnsignedByte() << 16) | in.readUnsignedShort();
+            final int gameCount = in.readInt();
+            final int expectedChecksum = in.readInt();
+
+            if (payloadLength <= 0 || payloadLength > GameRecordFormat.MAX_BLOCK_SIZE || gameCount <= 0) {
+                throw new GameRecordFormatException("Invalid block header with %d bytes and %d games."
+                        .formatted(payloadLength, gameCount));
+            }
+
+            if (payloadLength > block.length) {
+                block = new byte[payloadLength];
+            }
+
+            in.readFully(block, 0, payloadLength);
+
+            checksum.reset();
+            checksum.update(block, 0, payloadLength);
+
+            if ((int) checksum.getValue() != expectedChecksum) {
+                throw new GameRecordFormatException("A block failed its checksum.");
+            }
+
+            position = 0;
+            limit = payloadLength;
+            remainingGames = gameCount;
+
+            return true;
+        } catch (EOFException e) {
+            throw new GameRecordFormatException("The stream ended inside a block.");
+        }
+    }
+
+    private int readVarint() throws GameRecordFormatException {
+        int value = 0;
+
+        for (int shift = 0; shift < GameRecordFormat.MAX_VARINT_SIZE * 7; shift += 7) {
+            if (position == limit) {
+                throw new GameRecordFormatException("A block ends in the middle of a game.");
+            }
+
+            final byte current = block[position++];
+
+            // Only the low three bits of the fifth byte fit into a non-negative int.
+            if (shift == (GameRecordFormat.MAX_VARINT_SIZE - 1) * 7 && (current & 0x7F) > 0x07) {
+                throw new GameRecordFormatException("A varint exceeds %d.".formatted(Integer.MAX_VALUE));
+            }
+
+            value |= (current & 0x7F) << shift;
+
+            if (current >= 0) {
+                return value;
+            }
+        }
+
+        throw new GameRecordFormatException("A varint is longer than %d bytes.".formatted(GameRecordFormat.MAX_VARINT_SIZE));
+    }
+}
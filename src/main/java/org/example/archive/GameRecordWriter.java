@@ -0,0 +1,128 @@
+package org.example.archive;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes game records in the compact block format described by {@link GameRecordFormat}.
+ * <p>
+ * Games are collected into a block buffer and written once the block is full, so the writer can stream
+ * any number of games with constant memory.
+ */
+public class GameRecordWriter implements Closeable {
+    private final DataOutputStream out;
+    private final CRC32C checksum = new CRC32C();
+    private byte[] block;
+    private int position;
+    private int gameCount;
+
+    /**
+     * Creates a new GameRecordWriter with the default block size and writes the stream header.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the header cannot be written
+     */
+    public GameRecordWriter(final OutputStream out) throws IOException {
+        this(out, GameRecordFormat.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a new GameRecordWriter and writes the stream header.
+     *
+     * @param out       the stream to write to
+     * @param blockSize the preferred payload size of a block in bytes
+     * @throws IOException if the header cannot be written
+     */
+    public GameRecordWriter(final OutputStream out, final int blockSize) throws IOException {
+        if (blockSize <= 0 || blockSize > GameRecordFormat.MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("The block size must be between 1 and %d bytes."
+                    .formatted(GameRecordFormat.MAX_BLOCK_SIZE));
+        }
+
+        this.out = new DataOutputStream(out);
+        this.block = new byte[blockSize];
+        this.out.writeInt(GameRecordFormat.MAGIC);
+        this.out.writeByte(GameRecordFormat.FORMAT_VERSION);
+    }
+
+    /**
+     * Appends the game to the current block, writing the block first if the game does not fit.
+     *
+     * @param record the game to write
+     * @throws IOException if a full block cannot be written
+     */
+    public void write(final GameRecord record) throws IOException {
+        final int maxSize = (4 + record.pickedPits().length) * GameRecordFormat.MAX_VARINT_SIZE;
+
+        if (position + maxSize > block.length) {
+            writeBlock();
+
+            if (maxSize > block.length) {
+                // A single game larger than a block gets a block of its own.
+                block = new byte[maxSize];
+            }
+        }
+
+        writeVarint(record.numberOfPitsPerPlayer());
+        writeVarint(record.stonesPerPit());
+        writeVarint(record.variant().ordinal());
+        writeVarint(record.pickedPits().length);
+
+        for (final int pit : record.pickedPits()) {
+            writeVarint(pit);
+        }
+
+        gameCount++;
+    }
+
+    /**
+     * Writes the current block, even if it is not full, and flushes the stream.
+     *
+     * @throws IOException if the block cannot be written
+     */
+    public void flush() throws IOException {
+        writeBlock();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+    private void writeBlock() throws IOException {
+        if (gameCount == 0) {
+            return;
+        }
+
+        checksum.reset();
+        checksum.update(block, 0, position);
+
+        out.writeInt(position);
+        out.writeInt(gameCount);
+        out.writeInt((int) checksum.getValue());
+        out.write(block, 0, position);
+
+        position = 0;
+        gameCount = 0;
+    }
+
+    private void writeVarint(final int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Game records only contain non-negative numbers, got %d.".formatted(value));
+        }
+
+        int remaining = value;
+
+        while ((remaining & ~0x7F) != 0) {
+            block[position++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+
+        block[position++] = (byte) remaining;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.archive;
+
+import org.example.model.Board;
+import org.example.model.Player;
+import org.example.model.Winner;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds the final boards and winners of recorded games.
+ */
+public final class GameReplayer {
+
+    private GameReplayer() {
+    }
+
+    /**
+     * Represents the outcome of a replayed game.
+     *
+     * @param board  the board after the last recorded move
+     * @param winner the winner, or null if the game was not finished
+     */
+    public record Result(Board board, Winner winner) {
+    }
+
+    /**
+     * Replays the picked pits of the game on a new board.
+     *
+     * @param record the game to replay
+     * @return the outcome of the game
+     * @throws org.example.exception.GameLogicException if the record contains an invalid move
+     */
+    public static Result replay(final GameRecord record) {
+        final Board board = record.newBoard();
+
+        for (final int pit : record.pickedPits()) {
+            board.moveStones(pit);
+        }
+
+        return new Result(board, board.isGameOver() ? board.determineWinner() : null);
+    }
+
+    /**
+     * Replays the games in parallel on all cores.
+     *
+     * @param records the games to replay
+     * @return the outcomes, in the order of the games
+     */
+    public static List<Result> replayAll(final List<GameRecord> records) {
+        return records.parallelStream().map(GameReplayer::replay).toList();
+    }
+
+    /**
+     * Replays the remaining games of a stream block by block, each block in parallel on all cores.
+     * <p>
+     * Only one block of games and their outcomes is held in memory at a time, so archives of any size can be
+     * imported.
+     *
+     * @param reader  the stream of games
+     * @param results receives the outcomes, in the order of the games
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public static void replayAll(final GameRecordReader reader, final Consumer<Result> results) throws IOException {
+        for (List<GameRecord> block = reader.readBlockOfGames(); !block.isEmpty(); block = reader.readBlockOfGames()) {
+            replayAll(block).forEach(results);
+        }
+    }
+
+    /**
+     * Replays the game record files given as arguments and prints how the games ended.
+     *
+     * @param args the paths of the game record files
+     * @throws IOException if a file cannot be read or is malformed
+     */
+    public static void main(final String[] args) throws IOException {
+        for (final String file : args) {
+            final Map<String, Long> outcomes = new TreeMap<>();
+
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(file)));
+                 GameRecordReader reader = new GameRecordReader(in)) {
+                replayAll(reader, result -> outcomes.merge(switch (result.winner()) {
+                    case null -> "unfinished";
+                    case Winner.PlayerWinner winner -> winner.player() == Player.ONE ? "player one" : "player two";
+                    case Winner.Tie ignored -> "tie";
+                }, 1L, Long::sum));
+            }
+
+            final long games = outcomes.values().stream().mapToLong(Long::longValue).sum();
+
+            System.out.printf("%s: %,d games %s%n", file, games, outcomes);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.bot;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A blocking client of the binary {@link BotProtocol}, for bots written in Java.
+ * <p>
+ * {@link #move(long, long, int)} waits for its response. Bots that want to keep several requests in flight
+ * can {@link #send(long, long, int)} them first and {@link #receive()} the responses in the same order.
+ * A client must only be used by one thread at a time.
+ */
+public class BotClient implements AutoCloseable {
+    private final SocketChannel channel;
+    private final ByteBuffer request = ByteBuffer.allocate(BotProtocol.REQUEST_SIZE);
+    private final ByteBuffer header = ByteBuffer.allocate(BotProtocol.RESPONSE_HEADER_SIZE);
+    private ByteBuffer response = ByteBuffer.allocate(256);
+
+    private BotClient(final SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Connects to a bot server.
+     *
+     * @param host the host of the server
+     * @param port the port of the server
+     * @return the connected client
+     * @throws IOException if the connection fails
+     */
+    public static BotClient connect(final String host, final int port) throws IOException {
+        final SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.socket().setTcpNoDelay(true);
+        return new BotClient(channel);
+    }
+
+    /**
+     * Makes a move and waits for the response.
+     *
+     * @param gameId  the id of the game
+     * @param version the version of the board the move was chosen on
+     * @param pit     the index of the pit to move the stones from
+     * @return the response
+     * @throws IOException if the connection fails
+     */
+    public BotResponse move(final long gameId, final long version, final int pit) throws IOException {
+        send(gameId, version, pit);
+        return receive();
+    }
+
+    /**
+     * Gets the board of a game.
+     *
+     * @param gameId the id of the game
+     * @return the response
+     * @throws IOException if the connection fails
+     */
+    public BotResponse query(final long gameId) throws IOException {
+        return move(gameId, 0, BotProtocol.QUERY_PIT);
+    }
+
+    /**
+     * Sends a request without waiting for its response.
+     *
+     * @param gameId  the id of the game
+     * @param version the version of the board the move was chosen on
+     * @param pit     the index of the pit to move the stones from, or {@link BotProtocol#QUERY_PIT}
+     * @throws IOException if the connection fails
+     */
+    public void send(final long gameId, final long version, final int pit) throws IOException {
+        request.clear();
+        BotProtocol.writeRequest(request, gameId, version, pit);
+        request.flip();
+
+        while (request.hasRemaining()) {
+            channel.write(request);
+        }
+    }
+
+    /**
+     * Waits for the response of the oldest request without one.
+     *
+     * @return the response
+     * @throws IOException if the connection fails
+     */
+    public BotResponse receive() throws IOException {
+        header.clear();
+        readFully(header);
+        header.flip();
+
+        final int size = BotProtocol.RESPONSE_HEADER_SIZE + BotProtocol.pitBytes(header);
+
+        if (response.capacity() < size) {
+            response = ByteBuffer.allocate(size);
+        }
+
+        response.clear().put(header).limit(size);
+        readFully(response);
+
+        return BotProtocol.readResponse(response.flip());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("The bot server closed the connection.");
+            }
+        }
+    }
+}
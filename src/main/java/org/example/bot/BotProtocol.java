@@ -0,0 +1,158 @@
+package org.example.bot;
+
+import org.example.model.Board;
+import org.example.model.BoardSnapshot;
+import org.example.model.Player;
+import org.example.model.Winner;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Defines the frames of the binary protocol for bots.
+ * <p>
+ * A request is a fixed frame of {@value #REQUEST_SIZE} bytes: the game id (8 bytes), the version of the board
+ * the move was chosen on (8 bytes) and the picked pit (4 bytes). A pit of {@value #QUERY_PIT} makes no move
+ * and only asks for the board.
+ * <p>
+ * A response starts with a header of {@value #RESPONSE_HEADER_SIZE} bytes: the {@link BotStatus} (1 byte),
+ * the current player (1 byte), the winner (1 byte: none, player one, player two or tie), the width of a pit
+ * (1 byte), the version (8 bytes) and the number of pits (2 bytes), followed by the stones of every pit.
+ * Pits take one, two or four bytes depending on the total number of stones of the game, so the responses of a
+ * game all have the same size. All numbers are big-endian.
+ * <p>
+ * Requests may be pipelined. Responses are sent in the order of the requests.
+ */
+public final class BotProtocol {
+    /**
+     * The number of bytes of a request.
+     */
+    public static final int REQUEST_SIZE = Long.BYTES + Long.BYTES + Integer.BYTES;
+    /**
+     * The number of bytes of a response before the pits.
+     */
+    public static final int RESPONSE_HEADER_SIZE = 4 + Long.BYTES + Short.BYTES;
+    /**
+     * The pit of a request that only asks for the board.
+     */
+    public static final int QUERY_PIT = -1;
+
+    private static final int NO_WINNER = 0;
+    private static final int TIE = 3;
+
+    private BotProtocol() {
+    }
+
+    /**
+     * Writes a request.
+     *
+     * @param buffer  the buffer to write to
+     * @param gameId  the id of the game
+     * @param version the version of the board the move was chosen on
+     * @param pit     the index of the pit to move the stones from, or {@link #QUERY_PIT}
+     */
+    public static void writeRequest(final ByteBuffer buffer, final long gameId, final long version, final int pit) {
+        buffer.putLong(gameId).putLong(version).putInt(pit);
+    }
+
+    /**
+     * Gets the number of bytes of the response carrying the snapshot.
+     *
+     * @param snapshot the snapshot, or null if the game does not exist
+     * @return the number of bytes
+     */
+    public static int responseSize(final BoardSnapshot snapshot) {
+        return snapshot == null ? RESPONSE_HEADER_SIZE : RESPONSE_HEADER_SIZE + snapshot.getPitCount() * pitWidth(snapshot);
+    }
+
+    /**
+     * Writes a response.
+     *
+     * @param buffer   the buffer to write to, with at least {@link #responseSize(BoardSnapshot)} bytes remaining
+     * @param status   the outcome of the request
+     * @param snapshot the current snapshot of the board, or null if the game does not exist
+     */
+    public static void writeResponse(final ByteBuffer buffer, final BotStatus status, final BoardSnapshot snapshot) {
+        if (snapshot == null) {
+            buffer.put((byte) status.ordinal()).put((byte) 0).put((byte) NO_WINNER).put((byte) Byte.BYTES)
+                    .putLong(-1).putShort((short) 0);
+            return;
+        }
+
+        final int pitWidth = pitWidth(snapshot);
+        final int pitCount = snapshot.getPitCount();
+
+        buffer.put((byte) status.ordinal())
+                .put((byte) snapshot.getCurrentPlayer().ordinal())
+                .put((byte) winnerCode(snapshot.getWinner()))
+                .put((byte) pitWidth)
+                .putLong(snapshot.getVersion())
+                .putShort((short) pitCount);
+
+        for (int i = 0; i < pitCount; i++) {
+            final int stones = snapshot.getStonesInPit(i);
+
+            switch (pitWidth) {
+                case Byte.BYTES -> buffer.put((byte) stones);
+                case Short.BYTES -> buffer.putShort((short) stones);
+                default -> buffer.putInt(stones);
+            }
+        }
+    }
+
+    /**
+     * Reads a response.
+     *
+     * @param buffer the buffer holding the complete response
+     * @return the response
+     */
+    public static BotResponse readResponse(final ByteBuffer buffer) {
+        final BotStatus status = BotStatus.fromCode(buffer.get());
+        final int player = buffer.get();
+        final int winner = buffer.get();
+        final int pitWidth = buffer.get();
+        final long version = buffer.getLong();
+        final int[] pits = new int[Short.toUnsignedInt(buffer.getShort())];
+
+        for (int i = 0; i < pits.length; i++) {
+            pits[i] = switch (pitWidth) {
+                case Byte.BYTES -> Byte.toUnsignedInt(buffer.get());
+                case Short.BYTES -> Short.toUnsignedInt(buffer.getShort());
+                default -> buffer.getInt();
+            };
+        }
+
+        return new BotResponse(status, version, version < 0 ? null : Player.values()[player], toWinner(winner), pits);
+    }
+
+    /**
+     * Gets the number of bytes of the pits that follow a response header.
+     *
+     * @param header the buffer positioned at the start of the header
+     * @return the number of bytes
+     */
+    public static int pitBytes(final ByteBuffer header) {
+        final int position = header.position();
+        return header.get(position + 3) * Short.toUnsignedInt(header.getShort(position + 4 + Long.BYTES));
+    }
+
+    private static int pitWidth(final BoardSnapshot snapshot) {
+        final long totalStones = (long) snapshot.getNumberOfPitsPerPlayer() * Board.PLAYER_COUNT * snapshot.getStonesPerPit();
+        return totalStones <= 0xFF ? Byte.BYTES : totalStones <= 0xFFFF ? Short.BYTES : Integer.BYTES;
+    }
+
+    private static int winnerCode(final Winner winner) {
+        return switch (winner) {
+            case null -> NO_WINNER;
+            case Winner.PlayerWinner playerWinner -> playerWinner.player().ordinal() + 1;
+            case Winner.Tie ignored -> TIE;
+        };
+    }
+
+    private static Winner toWinner(final int code) {
+        return switch (code) {
+            case NO_WINNER -> null;
+            case TIE -> new Winner.Tie();
+            default -> new Winner.PlayerWinner(Player.values()[code - 1]);
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.bot;
+
+import org.example.model.Player;
+import org.example.model.Winner;
+
+/**
+ * Represents a decoded response of the binary bot protocol.
+ *
+ * @param status        the outcome of the request
+ * @param version       the version of the board, or -1 if the game does not exist
+ * @param currentPlayer the player whose turn it is, or null if the game does not exist
+ * @param winner        the winner, or null while the game is not over
+ * @param pits          the stones in each pit, including the stores, or empty if the game does not exist
+ */
+public record BotResponse(BotStatus status, long version, Player currentPlayer, Winner winner, int[] pits) {
+}
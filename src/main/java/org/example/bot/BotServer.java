@@ -0,0 +1,369 @@
+package org.example.bot;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.example.exception.GameLogicException;
+import org.example.exception.GameNotFoundException;
+import org.example.model.BoardSnapshot;
+import org.example.service.GameService;
+import org.example.service.MoveResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the binary {@link BotProtocol} over plain TCP, for bots that play many moves on long-lived connections.
+ * <p>
+ * An acceptor thread hands every connection to one of a few I/O threads, each running its own selector. The
+ * complete frames that arrived on a connection are handed to a virtual thread as one batch, so a move waiting
+ * on a slow repository never holds up the other connections of its I/O thread. A connection has at most one
+ * batch in flight and is not read meanwhile, so its responses are written back in order and one client can
+ * never occupy more than one thread. While a client does not read its responses, its connection is not read
+ * either. Like moves over HTTP, moves are interactive work and not subject to the admission control.
+ * <p>
+ * The server is only started if {@code mancala.bot.port} is set.
+ */
+@Service
+@ConditionalOnProperty(name = "mancala.bot.port")
+public class BotServer implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final GameService gameService;
+    private final ServerSocketChannel serverChannel;
+    private final Worker[] workers;
+    private final ExecutorService moveExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    /**
+     * The port the server listens on.
+     */
+    @Getter
+    private final int port;
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new BotServer and starts listening.
+     *
+     * @param gameService the game service
+     * @param port        the port to listen on, or 0 for any free port
+     * @param ioThreads   the number of I/O threads, or 0 for one per processor
+     * @throws UncheckedIOException if the port cannot be opened
+     */
+    public BotServer(final GameService gameService,
+                     @Value("${mancala.bot.port}") final int port,
+                     @Value("${mancala.bot.io-threads:0}") final int ioThreads) {
+        this.gameService = gameService;
+
+        try {
+            this.serverChannel = ServerSocketChannel.open().bind(new InetSocketAddress(port));
+            this.port = ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+            this.workers = new Worker[ioThreads > 0 ? ioThreads : Runtime.getRuntime().availableProcessors()];
+
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new Worker(Selector.open());
+                Thread.ofPlatform().name("bot-io-" + i).daemon().start(workers[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Thread.ofPlatform().name("bot-acceptor").daemon().start(this::accept);
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones.
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        running = false;
+
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        for (final Worker worker : workers) {
+            worker.selector.wakeup();
+        }
+
+        moveExecutor.shutdownNow();
+    }
+
+    private void accept() {
+        int next = 0;
+
+        while (running) {
+            final SocketChannel channel;
+
+            try {
+                channel = serverChannel.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                // A connection that failed while being accepted only affects that client.
+                continue;
+            }
+
+            try {
+                channel.socket().setTcpNoDelay(true);
+                workers[next].add(channel);
+                next = (next + 1) % workers.length;
+            } catch (IOException e) {
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    /**
+     * Makes the requested move, or reads the board, and writes the response.
+     *
+     * @param gameId  the id of the game
+     * @param version the version of the board the move was chosen on
+     * @param pit     the picked pit, or {@link BotProtocol#QUERY_PIT}
+     * @param out     the buffer to write the response to
+     * @return the buffer holding the response, which is a larger copy if it did not fit
+     */
+    private ByteBuffer handle(final long gameId, final long version, final int pit, final ByteBuffer out) {
+        BotStatus status;
+        BoardSnapshot snapshot;
+
+        try {
+            if (pit == BotProtocol.QUERY_PIT) {
+                status = BotStatus.OK;
+                snapshot = gameService.getSnapshot(gameId);
+            } else {
+                final MoveResult result = gameService.makeMove(gameId, pit, version);
+                status = result instanceof MoveResult.Conflict ? BotStatus.VERSION_CONFLICT : BotStatus.OK;
+                snapshot = result.snapshot();
+            }
+        } catch (GameLogicException e) {
+            status = BotStatus.of(e.getErrorCode());
+            snapshot = gameService.getSnapshot(gameId);
+        } catch (GameNotFoundException e) {
+            status = BotStatus.GAME_NOT_FOUND;
+            snapshot = null;
+        }
+
+        final ByteBuffer target = ensureRemaining(out, BotProtocol.responseSize(snapshot));
+        BotProtocol.writeResponse(target, status, snapshot);
+
+        return target;
+    }
+
+    private static void closeQuietly(final SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing is left to clean up for this client.
+        }
+    }
+
+    private static ByteBuffer ensureRemaining(final ByteBuffer buffer, final int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+
+        final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        return grown.put(buffer.flip());
+    }
+
+    /**
+     * Runs the selector of a share of the connections.
+     */
+    private final class Worker implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> newChannels = new ConcurrentLinkedQueue<>();
+        private final Queue<Runnable> completedBatches = new ConcurrentLinkedQueue<>();
+
+        private Worker(final Selector selector) {
+            this.selector = selector;
+        }
+
+        private void add(final SocketChannel channel) {
+            newChannels.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try (selector) {
+                while (running) {
+                    selector.select();
+                    registerNewChannels();
+                    runCompletedBatches();
+
+                    final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+
+                    while (keys.hasNext()) {
+                        final SelectionKey key = keys.next();
+                        keys.remove();
+                        serve(key);
+                    }
+                }
+
+                for (final SelectionKey key : selector.keys()) {
+                    key.channel().close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void registerNewChannels() throws IOException {
+            SocketChannel channel;
+
+            while ((channel = newChannels.poll()) != null) {
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, new Connection(this, channel));
+            }
+        }
+
+        private void complete(final Runnable completion) {
+            completedBatches.add(completion);
+            selector.wakeup();
+        }
+
+        private void runCompletedBatches() {
+            Runnable completion;
+
+            while ((completion = completedBatches.poll()) != null) {
+                completion.run();
+            }
+        }
+
+        private void serve(final SelectionKey key) throws IOException {
+            final Connection connection = (Connection) key.attachment();
+
+            try {
+                if (key.isValid() && key.isWritable()) {
+                    connection.flush(key);
+                }
+                if (key.isValid() && key.isReadable()) {
+                    connection.read(key);
+                }
+            } catch (IOException | RuntimeException e) {
+                connection.close(key);
+            }
+        }
+    }
+
+    /**
+     * Holds the buffers of one client connection. Only used by the I/O thread owning the connection.
+     */
+    private final class Connection {
+        private final Worker worker;
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+        private ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+        private boolean batchInFlight;
+
+        private Connection(final Worker worker, final SocketChannel channel) {
+            this.worker = worker;
+            this.channel = channel;
+        }
+
+        private void read(final SelectionKey key) throws IOException {
+            if (channel.read(in) < 0) {
+                close(key);
+                return;
+            }
+
+            dispatch(key);
+        }
+
+        /**
+         * Hands the complete frames to a virtual thread, unless a batch is still in flight.
+         */
+        private void dispatch(final SelectionKey key) {
+            if (batchInFlight) {
+                return;
+            }
+
+            in.flip();
+
+            final byte[] frames = new byte[in.remaining() - in.remaining() % BotProtocol.REQUEST_SIZE];
+            in.get(frames);
+            in.compact();
+
+            if (frames.length > 0) {
+                batchInFlight = true;
+                moveExecutor.execute(() -> serveBatch(key, ByteBuffer.wrap(frames)));
+            }
+
+            updateInterest(key);
+        }
+
+        /**
+         * Serves a batch of frames on a virtual thread and hands the responses back to the I/O thread.
+         */
+        private void serveBatch(final SelectionKey key, final ByteBuffer frames) {
+            try {
+                ByteBuffer responses = ByteBuffer.allocate(BUFFER_SIZE);
+
+                while (frames.hasRemaining()) {
+                    responses = handle(frames.getLong(), frames.getLong(), frames.getInt(), responses);
+                }
+
+                final ByteBuffer completed = responses.flip();
+                worker.complete(() -> completeBatch(key, completed));
+            } catch (RuntimeException e) {
+                worker.complete(() -> close(key));
+            }
+        }
+
+        private void completeBatch(final SelectionKey key, final ByteBuffer responses) {
+            batchInFlight = false;
+
+            if (!key.isValid()) {
+                return;
+            }
+
+            try {
+                out = ensureRemaining(out, responses.remaining()).put(responses);
+                flush(key);
+            } catch (IOException | RuntimeException e) {
+                close(key);
+            }
+        }
+
+        private void flush(final SelectionKey key) throws IOException {
+            out.flip();
+            channel.write(out);
+            out.compact();
+
+            if (out.position() == 0) {
+                // Frames that arrived with the last batch are served as soon as its responses are out.
+                dispatch(key);
+            } else {
+                updateInterest(key);
+            }
+        }
+
+        private void updateInterest(final SelectionKey key) {
+            // Stop reading until the client has taken its responses, so a slow reader cannot make us buffer without end.
+            final boolean readable = !batchInFlight && out.position() == 0;
+            key.interestOps((out.position() > 0 ? SelectionKey.OP_WRITE : 0) | (readable ? SelectionKey.OP_READ : 0));
+        }
+
+        private void close(final SelectionKey key) {
+            // The client went away or sent something we cannot serve, which only ends its own connection.
+            key.cancel();
+            closeQuietly(channel);
+        }
+    }
+}
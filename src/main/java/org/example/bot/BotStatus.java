@@ -0,0 +1,52 @@
+package org.example.bot;
+
+import org.example.exception.ErrorCode;
+
+/**
+ * Represents the outcome of a request of the binary bot protocol.
+ * <p>
+ * The ordinal is sent as the status byte of the response, so new statuses must only be appended.
+ */
+public enum BotStatus {
+    OK,
+    VERSION_CONFLICT,
+    GAME_NOT_FOUND,
+    PIT_DOES_NOT_EXIST,
+    WRONG_PLAYER_TURN,
+    EMPTY_PIT,
+    GAME_OVER,
+    GAME_NOT_OVER;
+
+    private static final BotStatus[] VALUES = values();
+
+    /**
+     * Gets the status reporting an invalid move.
+     *
+     * @param errorCode the error code of the game logic
+     * @return the status
+     */
+    public static BotStatus of(final ErrorCode errorCode) {
+        return switch (errorCode) {
+            case PIT_DOES_NOT_EXIST -> PIT_DOES_NOT_EXIST;
+            case WRONG_PLAYER_TURN -> WRONG_PLAYER_TURN;
+            case EMPTY_PIT -> EMPTY_PIT;
+            case GAME_OVER -> GAME_OVER;
+            case GAME_NOT_OVER -> GAME_NOT_OVER;
+        };
+    }
+
+    /**
+     * Gets the status sent as the given byte.
+     *
+     * @param code the status byte
+     * @return the status
+     * @throws IllegalArgumentException if no status has that code
+     */
+    public static BotStatus fromCode(final int code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown bot status " + code + ".");
+        }
+
+        return VALUES[code];
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.admission.AdmissionControl;
+import org.example.admission.WorkClass;
+import org.example.analysis.BatchEvaluator;
+import org.example.analysis.PositionBlock;
+import org.example.rules.RuleVariant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The Spring controller for evaluating positions in bulk.
+ */
+@Controller
+public class AnalysisController {
+
+    private final BatchEvaluator batchEvaluator;
+    private final AdmissionControl admissionControl;
+    private final int maxPositions;
+
+    /**
+     * Creates a new AnalysisController.
+     *
+     * @param batchEvaluator   the evaluator
+     * @param admissionControl the admission control the evaluations run under
+     * @param maxPositions     the maximum number of positions of a request
+     */
+    public AnalysisController(final BatchEvaluator batchEvaluator, final AdmissionControl admissionControl,
+                              @Value("${mancala.analysis.max-positions:100000}") final int maxPositions) {
+        this.batchEvaluator = batchEvaluator;
+        this.admissionControl = admissionControl;
+        this.maxPositions = maxPositions;
+    }
+
+    /**
+     * Handles the evaluation request. The evaluation is admitted as {@link WorkClass#ANALYSIS} work.
+     *
+     * @param request     the positions to evaluate
+     * @param httpRequest the HTTP request, identifying the client
+     * @return the evaluation of every position, in the order of the request
+     * @throws ResponseStatusException if the request has too many or malformed positions
+     */
+    @PostMapping("/analysis/evaluate")
+    @ResponseBody
+    public CompletableFuture<AnalysisResponse> evaluate(@RequestBody final AnalysisRequest request,
+                                                        final HttpServletRequest httpRequest) {
+        final PositionBlock block = toBlock(request);
+
+        return admissionControl.submit(WorkClass.ANALYSIS, ClientIdentity.of(httpRequest),
+                () -> AnalysisResponse.of(batchEvaluator.evaluate(block), batchEvaluator.isVectorized()));
+    }
+
+    private PositionBlock toBlock(final AnalysisRequest request) {
+        if (request.positions() == null || request.positions().isEmpty() || request.positions().size() > maxPositions) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A request must have between 1 and %d positions.".formatted(maxPositions));
+        }
+
+        try {
+            final RuleVariant variant = request.variant() == null ? RuleVariant.CLASSIC : request.variant();
+            final PositionBlock block = new PositionBlock(request.numberOfPitsPerPlayer(), variant, request.positions().size());
+
+            for (final AnalysisRequest.Position position : request.positions()) {
+                if (position.pits() == null || position.currentPlayer() == null) {
+                    throw new IllegalArgumentException("Every position needs pits and a current player.");
+                }
+
+                block.add(position.pits(), position.currentPlayer());
+            }
+
+            return block;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.controller;
+
+import org.example.model.Player;
+import org.example.rules.RuleVariant;
+
+import java.util.List;
+
+/**
+ * The body of a request to evaluate positions in bulk.
+ *
+ * @param numberOfPitsPerPlayer the number of pits per player of all positions
+ * @param variant               the rules of all positions, classic if missing
+ * @param positions             the positions to evaluate
+ */
+public record AnalysisRequest(int numberOfPitsPerPlayer, RuleVariant variant, List<Position> positions) {
+
+    /**
+     * A position to evaluate.
+     *
+     * @param pits          the stones in each pit, including the stores
+     * @param currentPlayer the player to move
+     */
+    public record Position(int[] pits, Player currentPlayer) {
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.controller;
+
+import org.example.analysis.BatchEvaluation;
+
+/**
+ * The evaluation of the positions of an {@link AnalysisRequest}, one array entry per position.
+ *
+ * @param vectorized       whether the evaluation used the Vector API
+ * @param scores           the heuristic scores for the player to move
+ * @param storeDifferences the store of the player to move minus the opponent's store
+ * @param mobilities       the number of legal moves
+ * @param extraTurnMoves   the number of legal moves granting an extra turn
+ * @param legalMoves       the legal moves as bit sets of the mover's pits
+ * @param gameOver         whether the game is over
+ * @see BatchEvaluation
+ */
+public record AnalysisResponse(boolean vectorized, int[] scores, int[] storeDifferences, int[] mobilities,
+                               int[] extraTurnMoves, int[] legalMoves, boolean[] gameOver) {
+
+    /**
+     * Copies the evaluation into a response.
+     *
+     * @param evaluation the evaluation
+     * @param vectorized whether the evaluation used the Vector API
+     * @return the response
+     */
+    public static AnalysisResponse of(final BatchEvaluation evaluation, final boolean vectorized) {
+        final int size = evaluation.size();
+        final AnalysisResponse response = new AnalysisResponse(vectorized, new int[size], new int[size], new int[size],
+                new int[size], new int[size], new boolean[size]);
+
+        for (int i = 0; i < size; i++) {
+            response.scores[i] = evaluation.getScore(i);
+            response.storeDifferences[i] = evaluation.getStoreDifference(i);
+            response.mobilities[i] = evaluation.getMobility(i);
+            response.extraTurnMoves[i] = evaluation.getExtraTurnMoves(i);
+            response.legalMoves[i] = evaluation.getLegalMoves(i);
+            response.gameOver[i] = evaluation.isGameOver(i);
+        }
+
+        return response;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.security.Principal;
+
+/**
+ * Identifies the client of a request for the per-client limits of the admission control.
+ * <p>
+ * An authenticated client is identified by its principal, any other client by its HTTP session, which is
+ * created on its first limited request. Neither can be picked by the client itself, unlike a header, and
+ * clients behind one proxy are still told apart, unlike by their address.
+ */
+final class ClientIdentity {
+
+    private ClientIdentity() {
+    }
+
+    /**
+     * Gets the identity of the client of a request, creating a session if it has none yet.
+     *
+     * @param request the request
+     * @return the name of the principal if authenticated, otherwise the id of the session
+     */
+    static String of(final HttpServletRequest request) {
+        final Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "session:" + request.getSession().getId();
+    }
+}
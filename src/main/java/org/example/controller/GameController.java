@@ -1,69 +1,125 @@
 package org.example.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.admission.AdmissionControl;
+import org.example.admission.WorkClass;
 import org.example.exception.GameLogicException;
+import org.example.history.HistoryView;
+import org.example.model.BoardSnapshot;
 import org.example.model.Move;
+import org.example.rules.RuleVariant;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.example.model.Board;
 import org.example.service.GameService;
+import org.example.service.MoveResult;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The Spring controller for the game.
  * It handles the HTTP requests and responses.
+ * <p>
+ * Every request plays the game named by the {@code gameId} parameter, or the default game without one.
  */
 @Controller
 public class GameController {
 
+    private static final String DEFAULT_GAME_ID = "" + GameService.DEFAULT_GAME_ID;
+
     private final GameService gameService;
+    private final AdmissionControl admissionControl;
 
     /**
-     * Creates a new GameController with the given GameService.
+     * Creates a new GameController with the given GameService and AdmissionControl.
      *
-     * @param gameService the game service
+     * @param gameService      the game service
+     * @param admissionControl the admission control for the expensive requests
      */
-    public GameController(final GameService gameService) {
+    public GameController(final GameService gameService, final AdmissionControl admissionControl) {
         this.gameService = gameService;
+        this.admissionControl = admissionControl;
     }
 
     /**
      * Handles the index page.
      *
-     * @param model the model
+     * @param gameId the id of the game
+     * @param model  the model
      * @return the index page
      */
     @GetMapping("/")
-    public String index(final Model model) {
-        final Board board = gameService.getBoard();
-
-        model.addAttribute("board", board);
-        model.addAttribute("currentPlayer", gameService.getBoard().getCurrentPlayer().toString());
+    public String index(@RequestParam(value = "gameId", defaultValue = DEFAULT_GAME_ID) long gameId, final Model model) {
+        // Board and version come from one snapshot, so the next move is checked against the board the player sees.
+        final BoardSnapshot snapshot = gameService.getSnapshot(gameId);
+
+        model.addAttribute("board", snapshot.toBoard());
+        model.addAttribute("gameId", gameId);
+        model.addAttribute("currentPlayer", snapshot.getCurrentPlayer().toString());
+        model.addAttribute("version", snapshot.getVersion());
         model.addAttribute("winner", null);
 
         return "index";
     }
 
+    /**
+     * Handles the new game request.
+     *
+     * @param variant the rules of the new game
+     * @return the response with the id and the board of the new game.
+     */
+    @PostMapping("/games")
+    @ResponseBody
+    public GameControllerResponse createGame(@RequestParam(value = "variant", defaultValue = "CLASSIC") final RuleVariant variant) {
+        final GameControllerResponse response = new GameControllerResponse();
+        final long gameId = gameService.createGame(variant);
+
+        setBoard(response, gameId, gameService.getSnapshot(gameId));
+
+        return response;
+    }
+
     /**
      * Handles the move request.
+     * <p>
+     * When the client sends the version of the board it picked the pit on, the move is only made if the board
+     * has not changed since. Otherwise the response is a conflict carrying the current board, so the client can
+     * pick again. Repeating a request that was already applied returns the same moves again.
      *
-     * @param pit the index of the pit to move the stones from.
-     * @return the response, either an error message or the updated board
+     * @param gameId  the id of the game
+     * @param pit     the index of the pit to move the stones from.
+     * @param version the version of the board the pit was picked on, if known.
+     * @return the response, either an error message, a conflict or the updated board
      * with the moves made.
      */
     @PostMapping("/move")
     @ResponseBody
-    public GameControllerResponse makeMove(@RequestParam("pit") int pit) {
+    public GameControllerResponse makeMove(@RequestParam(value = "gameId", defaultValue = DEFAULT_GAME_ID) long gameId,
+                                           @RequestParam("pit") int pit,
+                                           @RequestParam(value = "version", required = false) Long version) {
         final GameControllerResponse response = new GameControllerResponse();
 
-        response.setCurrentPlayer(gameService.getBoard().getCurrentPlayer().toString());
+        response.setCurrentPlayer(gameService.getSnapshot(gameId).getCurrentPlayer().toString());
 
         try {
-            final List<Move> moves = gameService.makeMove(pit);
-            response.setCurrentPlayer(gameService.getBoard().getCurrentPlayer().toString());
-            response.setMoves(moves);
+            if (version == null) {
+                final MoveResult.Applied applied = gameService.makeMove(gameId, pit);
+                response.setMoves(applied.moves());
+                setBoard(response, gameId, applied.snapshot());
+            } else {
+                switch (gameService.makeMove(gameId, pit, version)) {
+                    case MoveResult.Applied applied -> {
+                        response.setMoves(applied.moves());
+                        setBoard(response, gameId, applied.snapshot());
+                    }
+                    case MoveResult.Conflict conflict -> {
+                        response.setConflict(true);
+                        setBoard(response, gameId, conflict.snapshot());
+                    }
+                }
+            }
         } catch (GameLogicException e) {
             // TODO: use the exception advice to handle this.
             response.setError(e.getMessage());
@@ -74,43 +130,118 @@ public class GameController {
 
     /**
      * Handles the demo request.
+     * <p>
+     * The demo plays a whole game, so it runs on the demo pool of the admission control instead of on the
+     * request thread, and is rejected when the pool is saturated.
      *
-     * @return the response with the moves made and the winner.
+     * @param gameId  the id of the game
+     * @param request the request, identifying the player
+     * @return the future response with the moves made and the winner.
      */
     @PostMapping("/demo")
     @ResponseBody
-    public GameControllerResponse makeDemoMoves() {
+    public CompletableFuture<GameControllerResponse> makeDemoMoves(
+            @RequestParam(value = "gameId", defaultValue = DEFAULT_GAME_ID) long gameId, final HttpServletRequest request) {
+        return admissionControl.submit(WorkClass.DEMO, ClientIdentity.of(request), () -> playDemo(gameId));
+    }
+
+    /**
+     * Plays random moves until the game is over.
+     *
+     * @param gameId the id of the game
+     * @return the response with the moves made and the winner.
+     */
+    private GameControllerResponse playDemo(final long gameId) {
         final GameControllerResponse response = new GameControllerResponse();
 
-        response.setCurrentPlayer(gameService.getBoard().getCurrentPlayer().toString());
+        response.setCurrentPlayer(gameService.getSnapshot(gameId).getCurrentPlayer().toString());
 
         final List<Move> moves = new ArrayList<>();
 
-        while (!gameService.isGameOver()) {
-            final int move = gameService.getRandomPitIndex();
+        while (!gameService.isGameOver(gameId)) {
+            final int move = gameService.getRandomPitIndex(gameId);
 
             try {
-                moves.addAll(gameService.makeMove(move));
-                response.setCurrentPlayer(gameService.getBoard().getCurrentPlayer().toString());
+                final MoveResult.Applied applied = gameService.makeMove(gameId, move);
+                moves.addAll(applied.moves());
+                response.setCurrentPlayer(applied.snapshot().getCurrentPlayer().toString());
             } catch (GameLogicException e) {
                 // Ignore invalid moves, since this is a demo.
             }
         }
 
-        response.setWinner(gameService.getWinnerString());
+        response.setWinner(gameService.getWinnerString(gameId));
         response.setMoves(moves);
+        setBoard(response, gameId, gameService.getSnapshot(gameId));
 
         return response;
     }
 
+    /**
+     * Copies the state of the board into the response.
+     *
+     * @param response the response
+     * @param gameId   the id of the game
+     * @param snapshot the snapshot of the board
+     */
+    private static void setBoard(final GameControllerResponse response, final long gameId, final BoardSnapshot snapshot) {
+        response.setGameId(gameId);
+        response.setCurrentPlayer(snapshot.getCurrentPlayer().toString());
+        response.setVersion(snapshot.getVersion());
+        response.setPits(snapshot.getPits());
+    }
+
+    /**
+     * Handles the undo request.
+     *
+     * @param gameId the id of the game
+     * @return the response with the board before the last move
+     */
+    @PostMapping("/undo")
+    @ResponseBody
+    public GameControllerResponse undo(@RequestParam(value = "gameId", defaultValue = DEFAULT_GAME_ID) long gameId) {
+        final GameControllerResponse response = new GameControllerResponse();
+        setBoard(response, gameId, gameService.undo(gameId));
+        return response;
+    }
+
+    /**
+     * Handles the redo request.
+     *
+     * @param gameId the id of the game
+     * @return the response with the board after the move taken back last
+     */
+    @PostMapping("/redo")
+    @ResponseBody
+    public GameControllerResponse redo(@RequestParam(value = "gameId", defaultValue = DEFAULT_GAME_ID) long gameId) {
+        final GameControllerResponse response = new GameControllerResponse();
+        setBoard(response, gameId, gameService.redo(gameId));
+        return response;
+    }
+
+    /**
+     * Handles the history request.
+     *
+     * @param gameId the id of the game
+     * @param ply    the ply to show the board of, or the current ply without one
+     * @return the reachable plies of the game and the board at the requested ply
+     */
+    @GetMapping("/history")
+    @ResponseBody
+    public HistoryView history(@RequestParam(value = "gameId", defaultValue = DEFAULT_GAME_ID) long gameId,
+                               @RequestParam(value = "ply", required = false) Integer ply) {
+        return gameService.getHistory(gameId, ply);
+    }
+
     /**
      * Handles the restart request.
      *
+     * @param gameId the id of the game
      * @return a redirect to the index page with the game reset.
      */
     @PostMapping("/restart")
-    public String restartGame() {
-        gameService.resetGame();
-        return "redirect:/";
+    public String restartGame(@RequestParam(value = "gameId", defaultValue = DEFAULT_GAME_ID) long gameId) {
+        gameService.resetGame(gameId);
+        return gameId == GameService.DEFAULT_GAME_ID ? "redirect:/" : "redirect:/?gameId=" + gameId;
     }
 }
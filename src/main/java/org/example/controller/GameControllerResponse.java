@@ -14,8 +14,24 @@ import java.util.List;
 @Getter
 @Setter
 public class GameControllerResponse implements Serializable {
+    /**
+     * The id of the game the response is about.
+     */
+    private Long gameId;
     private String currentPlayer;
     private String winner;
     private List<Move> moves;
     private String error;
+    /**
+     * The version of the board after the request.
+     */
+    private Long version;
+    /**
+     * The stones in each pit after the request, including the stores.
+     */
+    private int[] pits;
+    /**
+     * Whether the move was rejected because the board changed since the version sent by the client.
+     */
+    private boolean conflict;
 }
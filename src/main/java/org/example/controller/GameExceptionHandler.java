@@ -0,0 +1,65 @@
+package org.example.controller;
+
+import org.example.exception.AdmissionRejectedException;
+import org.example.exception.GameNotFoundException;
+import org.example.exception.HistoryUnavailableException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+/**
+ * Turns the exceptions of the controllers into responses.
+ */
+@ControllerAdvice
+public class GameExceptionHandler {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    /**
+     * Handles work rejected by the admission control.
+     *
+     * @param e the rejection
+     * @return a 429 response with the reason as the error
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<GameControllerResponse> handleAdmissionRejected(final AdmissionRejectedException e) {
+        final GameControllerResponse response = new GameControllerResponse();
+        response.setError(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(response);
+    }
+
+    /**
+     * Handles requests for games that do not exist.
+     *
+     * @param e the exception
+     * @return a 404 response with the message as the error
+     */
+    @ExceptionHandler(GameNotFoundException.class)
+    public ResponseEntity<GameControllerResponse> handleGameNotFound(final GameNotFoundException e) {
+        final GameControllerResponse response = new GameControllerResponse();
+        response.setGameId(e.getGameId());
+        response.setError(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    /**
+     * Handles undo, redo and history requests the history of the game cannot serve.
+     *
+     * @param e the exception
+     * @return a 409 response with the message as the error
+     */
+    @ExceptionHandler(HistoryUnavailableException.class)
+    public ResponseEntity<GameControllerResponse> handleHistoryUnavailable(final HistoryUnavailableException e) {
+        final GameControllerResponse response = new GameControllerResponse();
+        response.setGameId(e.getGameId());
+        response.setError(e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+}
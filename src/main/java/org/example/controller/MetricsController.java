@@ -0,0 +1,72 @@
+package org.example.controller;
+
+import org.example.admission.AdmissionControl;
+import org.example.admission.AdmissionStats;
+import org.example.admission.WorkClass;
+import org.example.analytics.GameplayAnalytics;
+import org.example.analytics.GameplayStats;
+import org.example.history.GameHistoryStore;
+import org.example.history.HistoryStats;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Map;
+
+/**
+ * The Spring controller for the operational metrics of the game server.
+ */
+@Controller
+public class MetricsController {
+
+    private final AdmissionControl admissionControl;
+    private final GameplayAnalytics gameplayAnalytics;
+    private final GameHistoryStore gameHistoryStore;
+
+    /**
+     * Creates a new MetricsController with the given AdmissionControl, GameplayAnalytics and GameHistoryStore.
+     *
+     * @param admissionControl  the admission control
+     * @param gameplayAnalytics the aggregator of the moves
+     * @param gameHistoryStore  the histories of the games
+     */
+    public MetricsController(final AdmissionControl admissionControl, final GameplayAnalytics gameplayAnalytics,
+                             final GameHistoryStore gameHistoryStore) {
+        this.admissionControl = admissionControl;
+        this.gameplayAnalytics = gameplayAnalytics;
+        this.gameHistoryStore = gameHistoryStore;
+    }
+
+    /**
+     * Handles the admission metrics request.
+     *
+     * @return the queue depth, running requests and rejection counters of every work class
+     */
+    @GetMapping("/metrics/admission")
+    @ResponseBody
+    public Map<WorkClass, AdmissionStats> admission() {
+        return admissionControl.getStats();
+    }
+
+    /**
+     * Handles the gameplay analytics request.
+     *
+     * @return the pit choices, extra turns, game lengths and outcomes of the recent moves on this node
+     */
+    @GetMapping("/analytics")
+    @ResponseBody
+    public GameplayStats analytics() {
+        return gameplayAnalytics.getStats();
+    }
+
+    /**
+     * Handles the history metrics request.
+     *
+     * @return the number of games with a history and the memory used by the histories
+     */
+    @GetMapping("/metrics/history")
+    @ResponseBody
+    public HistoryStats history() {
+        return gameHistoryStore.getStats();
+    }
+}
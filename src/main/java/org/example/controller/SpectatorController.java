@@ -0,0 +1,46 @@
+package org.example.controller;
+
+import org.example.service.GameService;
+import org.example.spectator.SpectatorHub;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * The Spring controller for the spectators of the game.
+ * It streams the board to the spectators as server-sent events.
+ */
+@Controller
+public class SpectatorController {
+
+    private static final String DEFAULT_GAME_ID = "" + GameService.DEFAULT_GAME_ID;
+
+    private final GameService gameService;
+    private final SpectatorHub spectatorHub;
+
+    /**
+     * Creates a new SpectatorController with the given GameService and SpectatorHub.
+     *
+     * @param gameService  the game service
+     * @param spectatorHub the hub broadcasting the board
+     */
+    public SpectatorController(final GameService gameService, final SpectatorHub spectatorHub) {
+        this.gameService = gameService;
+        this.spectatorHub = spectatorHub;
+    }
+
+    /**
+     * Handles the spectate request.
+     *
+     * @param gameId the id of the game to follow
+     * @return the event stream with the current board followed by every change
+     */
+    @GetMapping(path = "/spectate", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter spectate(@RequestParam(value = "gameId", defaultValue = DEFAULT_GAME_ID) long gameId) {
+        return spectatorHub.subscribe(gameId, () -> gameService.getBoardState(gameId));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.controller;
+
+import org.example.model.BoardDelta;
+import org.example.model.BoardSnapshot;
+import org.example.model.BoardState;
+import org.example.service.GameService;
+import org.example.state.RecentBoardStates;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * The Spring controller serving the board as JSON to clients polling for changes.
+ * <p>
+ * Every response carries the version of the board as a strong ETag, so a client that already has the current
+ * version gets an empty {@code 304 Not Modified} without the board being serialized. A client can also pass
+ * the version it knows and only receive the pits that changed since then.
+ */
+@RestController
+public class StateController {
+
+    private static final String DEFAULT_GAME_ID = "" + GameService.DEFAULT_GAME_ID;
+
+    private final GameService gameService;
+    private final RecentBoardStates recentBoardStates;
+
+    /**
+     * Creates a new StateController with the given GameService and RecentBoardStates.
+     *
+     * @param gameService       the game service
+     * @param recentBoardStates the recent states of the games
+     */
+    public StateController(final GameService gameService, final RecentBoardStates recentBoardStates) {
+        this.gameService = gameService;
+        this.recentBoardStates = recentBoardStates;
+    }
+
+    /**
+     * Handles the state request.
+     *
+     * @param gameId     the id of the game
+     * @param since      the version known by the client, or null for the full state
+     * @param webRequest the request, used to evaluate If-None-Match
+     * @return the changes since the known version if it is still remembered, otherwise the full state;
+     * or no body if the client already has the current version
+     */
+    @GetMapping("/state")
+    public ResponseEntity<?> state(@RequestParam(value = "gameId", defaultValue = DEFAULT_GAME_ID) long gameId,
+                                   @RequestParam(value = "since", required = false) Long since,
+                                   final WebRequest webRequest) {
+        final BoardSnapshot snapshot = gameService.getSnapshot(gameId);
+        final String etag = "\"" + snapshot.getVersion() + "\"";
+
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        final BoardState state = GameService.toBoardState(gameId, snapshot);
+        recentBoardStates.remember(state);
+
+        final Object body = since == null ? state : recentBoardStates.find(gameId, since)
+                .<Object>map(known -> BoardDelta.between(known, state))
+                .orElse(state);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(body);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.exception;
+
+import lombok.Getter;
+import org.example.admission.WorkClass;
+
+/**
+ * Represents an exception that occurs when expensive work is not admitted because its capacity is exhausted.
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+    private final WorkClass workClass;
+    private final Reason reason;
+
+    /**
+     * Creates a new AdmissionRejectedException with the given work class and reason.
+     *
+     * @param workClass the class of the rejected work
+     * @param reason    the reason of the rejection
+     */
+    public AdmissionRejectedException(final WorkClass workClass, final Reason reason) {
+        super(reason.getMessageTemplate().formatted(workClass.getPropertyName()));
+        this.workClass = workClass;
+        this.reason = reason;
+    }
+
+    /**
+     * Represents the reason why work was rejected.
+     */
+    @Getter
+    public enum Reason {
+        SATURATED("Too many %s requests are waiting! Please try again later."),
+        CLIENT_LIMIT("You already have a %s request running! Please wait for it to finish."),
+        QUEUE_TIMEOUT("The %s request waited too long and was dropped! Please try again later.");
+
+        private final String messageTemplate;
+
+        Reason(final String messageTemplate) {
+            this.messageTemplate = messageTemplate;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.exception;
+
+import lombok.Getter;
+
+/**
+ * Represents an exception that occurs when a request refers to a game that does not exist.
+ */
+@Getter
+public class GameNotFoundException extends RuntimeException {
+    private final long gameId;
+
+    /**
+     * Creates a new GameNotFoundException for the given game.
+     *
+     * @param gameId the id of the missing game
+     */
+    public GameNotFoundException(final long gameId) {
+        super("Game %d does not exist! Please start a new game.".formatted(gameId));
+        this.gameId = gameId;
+    }
+}
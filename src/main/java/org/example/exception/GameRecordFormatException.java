@@ -0,0 +1,17 @@
+package org.example.exception;
+
+import java.io.IOException;
+
+/**
+ * Represents an exception that occurs when a game record stream is malformed or corrupted.
+ */
+public class GameRecordFormatException extends IOException {
+    /**
+     * Creates a new GameRecordFormatException with the given message.
+     *
+     * @param message the message
+     */
+    public GameRecordFormatException(final String message) {
+        super(message);
+    }
+}
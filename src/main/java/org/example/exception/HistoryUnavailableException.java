@@ -0,0 +1,22 @@
+package org.example.exception;
+
+import lombok.Getter;
+
+/**
+ * Represents an exception that occurs when a game cannot be moved to a ply of its history.
+ */
+@Getter
+public class HistoryUnavailableException extends RuntimeException {
+    private final long gameId;
+
+    /**
+     * Creates a new HistoryUnavailableException for the given game.
+     *
+     * @param gameId  the id of the game
+     * @param message the reason
+     */
+    public HistoryUnavailableException(final long gameId, final String message) {
+        super(message);
+        this.gameId = gameId;
+    }
+}
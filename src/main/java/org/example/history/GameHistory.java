@@ -0,0 +1,249 @@
+package org.example.history;
+
+import lombok.Getter;
+import org.example.archive.GameRecord;
+import org.example.model.Board;
+import org.example.model.Player;
+import org.example.rules.RuleVariant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records the timeline of a game as its picked pits plus a compact checkpoint every few plies.
+ * <p>
+ * Any recorded ply is rebuilt from the closest checkpoint before it, so seeking, undoing and redoing replay at
+ * most one checkpoint interval of moves, however long the game is. Plies are counted from the board the history
+ * was started with. Moves after the current ply can be redone until a different move is recorded.
+ * <p>
+ * If the history grows beyond its memory limit, the oldest checkpoint interval is forgotten, so the earliest
+ * plies can no longer be reached; see {@link #getFirstPly()}.
+ * <p>
+ * A history is not thread-safe.
+ */
+public class GameHistory {
+    private static final int PLAYER_BYTES = 1;
+
+    private final int numberOfPitsPerPlayer;
+    private final int stonesPerPit;
+    private final RuleVariant variant;
+    private final int pitCount;
+    private final int pitWidth;
+    /**
+     * The number of plies between two checkpoints.
+     */
+    @Getter
+    private final int checkpointInterval;
+    /**
+     * The number of bytes the history may use before its oldest plies are forgotten.
+     */
+    @Getter
+    private final long maxBytes;
+    private final List<byte[]> checkpoints = new ArrayList<>();
+    private char[] pickedPits = new char[16];
+    /**
+     * The earliest ply that can still be reached. Always a multiple of the checkpoint interval.
+     */
+    @Getter
+    private int firstPly;
+    /**
+     * The ply of the current board.
+     */
+    @Getter
+    private int ply;
+    /**
+     * The last recorded ply, which is after the current one if moves were undone.
+     */
+    @Getter
+    private int lastPly;
+
+    /**
+     * Creates a new history starting with the given board.
+     *
+     * @param start              the board at ply zero
+     * @param checkpointInterval the number of plies between two checkpoints
+     * @param maxBytes           the number of bytes the history may use before its oldest plies are forgotten
+     * @throws IllegalArgumentException if the interval is not positive or the board has too many pits
+     */
+    public GameHistory(final Board start, final int checkpointInterval, final long maxBytes) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive, got %d.".formatted(checkpointInterval));
+        }
+        if (start.getPits().length > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Histories support at most %d pits.".formatted((int) Character.MAX_VALUE));
+        }
+
+        final long totalStones = Arrays.stream(start.getPits()).asLongStream().sum();
+
+        this.numberOfPitsPerPlayer = start.getNumberOfPitsPerPlayer();
+        this.stonesPerPit = start.getStonesPerPit();
+        this.variant = start.getVariant();
+        this.pitCount = start.getPits().length;
+        this.pitWidth = totalStones <= 0xFF ? Byte.BYTES : totalStones <= 0xFFFF ? Character.BYTES : Integer.BYTES;
+        this.checkpointInterval = checkpointInterval;
+        this.maxBytes = maxBytes;
+
+        checkpoints.add(pack(start));
+    }
+
+    /**
+     * Builds the full history of an archived game, so a replay viewer can seek to any ply.
+     *
+     * @param record             the game
+     * @param checkpointInterval the number of plies between two checkpoints
+     * @return the history, positioned at the last ply
+     * @throws org.example.exception.GameLogicException if the record contains an invalid move
+     */
+    public static GameHistory of(final GameRecord record, final int checkpointInterval) {
+        final Board board = record.newBoard();
+        final GameHistory history = new GameHistory(board, checkpointInterval, Long.MAX_VALUE);
+
+        for (final int pit : record.pickedPits()) {
+            board.moveStones(pit);
+            history.record(pit, board);
+        }
+
+        return history;
+    }
+
+    /**
+     * Records a move made on the current board. Moves that could have been redone are discarded.
+     *
+     * @param pit   the picked pit
+     * @param after the board after the move
+     */
+    public void record(final int pit, final Board after) {
+        // Checkpoints after the current ply belong to the discarded moves.
+        while (checkpoints.size() > checkpointIndex(ply) + 1) {
+            checkpoints.removeLast();
+        }
+
+        if (ply - firstPly == pickedPits.length) {
+            pickedPits = Arrays.copyOf(pickedPits, pickedPits.length * 2);
+        }
+
+        pickedPits[ply - firstPly] = (char) pit;
+        ply++;
+        lastPly = ply;
+
+        if (ply % checkpointInterval == 0) {
+            checkpoints.add(pack(after));
+        }
+
+        forgetOldestWhileOverLimit();
+    }
+
+    /**
+     * Rebuilds the board at a recorded ply.
+     *
+     * @param targetPly the ply
+     * @return a new board
+     * @throws IllegalArgumentException if the ply is not between {@link #getFirstPly()} and {@link #getLastPly()}
+     */
+    public Board boardAt(final int targetPly) {
+        if (targetPly < firstPly || targetPly > lastPly) {
+            throw new IllegalArgumentException("Ply %d is not between %d and %d.".formatted(targetPly, firstPly, lastPly));
+        }
+
+        final int checkpoint = checkpointIndex(targetPly);
+        final Board board = unpack(checkpoints.get(checkpoint));
+
+        for (int i = firstPly + checkpoint * checkpointInterval; i < targetPly; i++) {
+            board.moveStones(pickedPits[i - firstPly]);
+        }
+
+        return board;
+    }
+
+    /**
+     * Gets the pit picked to leave a ply.
+     *
+     * @param fromPly the ply the move was made on
+     * @return the picked pit
+     * @throws IllegalArgumentException if no move was recorded on that ply
+     */
+    public int getPickedPit(final int fromPly) {
+        if (fromPly < firstPly || fromPly >= lastPly) {
+            throw new IllegalArgumentException("No move was recorded on ply %d.".formatted(fromPly));
+        }
+
+        return pickedPits[fromPly - firstPly];
+    }
+
+    /**
+     * Moves the current ply, e.g. after undoing or redoing moves on the board.
+     *
+     * @param targetPly the new current ply
+     * @throws IllegalArgumentException if the ply is not between {@link #getFirstPly()} and {@link #getLastPly()}
+     */
+    public void moveTo(final int targetPly) {
+        if (targetPly < firstPly || targetPly > lastPly) {
+            throw new IllegalArgumentException("Ply %d is not between %d and %d.".formatted(targetPly, firstPly, lastPly));
+        }
+
+        ply = targetPly;
+    }
+
+    /**
+     * Gets the number of bytes used by the picked pits and the checkpoints, not counting object headers.
+     *
+     * @return the number of bytes
+     */
+    public long getMemoryBytes() {
+        return (long) pickedPits.length * Character.BYTES + (long) checkpoints.size() * checkpointSize();
+    }
+
+    private void forgetOldestWhileOverLimit() {
+        // The checkpoint of the current ply and everything after it is kept, whatever the limit.
+        while (getMemoryBytes() > maxBytes && checkpointIndex(ply) > 0) {
+            checkpoints.removeFirst();
+            pickedPits = Arrays.copyOfRange(pickedPits, checkpointInterval, pickedPits.length);
+            firstPly += checkpointInterval;
+        }
+
+        // Shrink the pits left over from growing once the oldest ones are gone.
+        if (getMemoryBytes() > maxBytes && pickedPits.length > lastPly - firstPly) {
+            pickedPits = Arrays.copyOf(pickedPits, Math.max(1, lastPly - firstPly));
+        }
+    }
+
+    private int checkpointIndex(final int targetPly) {
+        return (targetPly - firstPly) / checkpointInterval;
+    }
+
+    private int checkpointSize() {
+        return PLAYER_BYTES + pitCount * pitWidth;
+    }
+
+    private byte[] pack(final Board board) {
+        final byte[] checkpoint = new byte[checkpointSize()];
+        final int[] pits = board.getPits();
+
+        checkpoint[0] = (byte) board.getCurrentPlayer().ordinal();
+
+        for (int i = 0; i < pitCount; i++) {
+            final int offset = PLAYER_BYTES + i * pitWidth;
+
+            for (int b = 0; b < pitWidth; b++) {
+                checkpoint[offset + b] = (byte) (pits[i] >>> (b * Byte.SIZE));
+            }
+        }
+
+        return checkpoint;
+    }
+
+    private Board unpack(final byte[] checkpoint) {
+        final int[] pits = new int[pitCount];
+
+        for (int i = 0; i < pitCount; i++) {
+            final int offset = PLAYER_BYTES + i * pitWidth;
+
+            for (int b = 0; b < pitWidth; b++) {
+                pits[i] |= (checkpoint[offset + b] & 0xFF) << (b * Byte.SIZE);
+            }
+        }
+
+        return new Board(numberOfPitsPerPlayer, stonesPerPit, pits, Player.values()[checkpoint[0]], variant);
+    }
+}
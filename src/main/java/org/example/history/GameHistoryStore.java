@@ -0,0 +1,316 @@
+package org.example.history;
+
+import org.example.exception.HistoryUnavailableException;
+import org.example.model.Board;
+import org.example.model.BoardSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Keeps a {@link GameHistory} of every live game on this node, tied to the versions of its snapshots.
+ * <p>
+ * The history of a game only follows the snapshots it was told about. Changes stored concurrently on this node
+ * are recorded in the order of their versions. If a move was made on a version the history never learns about,
+ * e.g. because it was stored by another node, the history starts over from that move.
+ * Histories of games beyond the configured number are forgotten.
+ */
+@Service
+public class GameHistoryStore {
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 16;
+    private static final long DEFAULT_MAX_BYTES_PER_GAME = 4096;
+    private static final int DEFAULT_MAX_GAMES = 100_000;
+
+    private final int checkpointInterval;
+    private final long maxBytesPerGame;
+    private final int maxGames;
+    private final Map<Long, LiveHistory> historiesByGame = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new GameHistoryStore.
+     *
+     * @param checkpointInterval the number of plies between two checkpoints
+     * @param maxBytesPerGame    the number of bytes a history may use before its oldest plies are forgotten
+     * @param maxGames           the number of games whose history is kept
+     */
+    public GameHistoryStore(@Value("${mancala.history.checkpoint-interval:16}") final int checkpointInterval,
+                            @Value("${mancala.history.max-bytes-per-game:4096}") final long maxBytesPerGame,
+                            @Value("${mancala.history.max-games:100000}") final int maxGames) {
+        this.checkpointInterval = checkpointInterval;
+        this.maxBytesPerGame = maxBytesPerGame;
+        this.maxGames = maxGames;
+    }
+
+    /**
+     * Creates a store with the default limits.
+     *
+     * @return the store
+     */
+    public static GameHistoryStore withDefaults() {
+        return new GameHistoryStore(DEFAULT_CHECKPOINT_INTERVAL, DEFAULT_MAX_BYTES_PER_GAME, DEFAULT_MAX_GAMES);
+    }
+
+    /**
+     * Starts a new history of a game, e.g. when it is created or reset.
+     *
+     * @param gameId   the id of the game
+     * @param snapshot the snapshot at ply zero
+     */
+    public void start(final long gameId, final BoardSnapshot snapshot) {
+        evictIfFull(gameId);
+        historiesByGame.put(gameId, new LiveHistory(newHistory(snapshot.toBoard()), snapshot.getVersion()));
+    }
+
+    /**
+     * Stores a move made on a game and records it, if the board is replaced successfully.
+     * <p>
+     * The replacement runs without holding the history of the game, so a slow repository never holds up other
+     * changes or readers of the game. Changes stored concurrently are recorded in the order of their versions.
+     *
+     * @param gameId   the id of the game
+     * @param previous the snapshot the move was made on
+     * @param next     the snapshot created by the move
+     * @param after    the board after the move
+     * @param replace  replaces the previous snapshot with the next one, or returns false if the board changed
+     *                 in the meantime
+     * @return true if the board was replaced, false otherwise
+     */
+    public boolean recordMove(final long gameId, final BoardSnapshot previous, final BoardSnapshot next,
+                              final Board after, final Predicate<BoardSnapshot> replace) {
+        evictIfFull(gameId);
+
+        final LiveHistory live = historiesByGame.computeIfAbsent(gameId,
+                id -> new LiveHistory(newHistory(previous.toBoard()), previous.getVersion()));
+
+        synchronized (live) {
+            live.changesInFlight++;
+        }
+
+        return commit(live, replace, next, new RecordedMove(previous, next, after));
+    }
+
+    /**
+     * Moves the history of a game by the given number of plies, if the board is replaced successfully.
+     * <p>
+     * The new snapshot is not the result of a move, so a stale move request on the version before it is
+     * answered with a conflict, never as a replay.
+     *
+     * @param gameId   the id of the game
+     * @param current  the current snapshot of the board
+     * @param plies    the number of plies to move, negative to undo
+     * @param replace  replaces the current snapshot with the given one, or returns false if the board changed
+     *                 in the meantime
+     * @return the new snapshot, or empty if the board changed in the meantime
+     * @throws HistoryUnavailableException if the target ply is not in the history
+     */
+    public Optional<BoardSnapshot> travel(final long gameId, final BoardSnapshot current, final int plies,
+                                          final Predicate<BoardSnapshot> replace) {
+        final LiveHistory live = historiesByGame.get(gameId);
+
+        if (live == null) {
+            throw new HistoryUnavailableException(gameId, "Game %d has no history on this server.".formatted(gameId));
+        }
+
+        final int target;
+        final BoardSnapshot next;
+
+        synchronized (live) {
+            if (live.version != current.getVersion()) {
+                throw new HistoryUnavailableException(gameId,
+                        "The history of game %d does not know version %d.".formatted(gameId, current.getVersion()));
+            }
+
+            target = live.history.getPly() + plies;
+
+            if (target < live.history.getFirstPly() || target > live.history.getLastPly()) {
+                throw new HistoryUnavailableException(gameId, "Game %d has no ply %d to go to, only %d to %d."
+                        .formatted(gameId, target, live.history.getFirstPly(), live.history.getLastPly()));
+            }
+
+            next = BoardSnapshot.of(live.history.boardAt(target), current.getVersion() + 1);
+            live.changesInFlight++;
+        }
+
+        return commit(live, replace, next, new Travel(current, next, target)) ? Optional.of(next) : Optional.empty();
+    }
+
+    /**
+     * Gets a view of the history of a game, with the board at the given ply.
+     *
+     * @param gameId the id of the game
+     * @param ply    the ply to show, or null for the current ply
+     * @return the view
+     * @throws HistoryUnavailableException if the game has no history or the ply is not in it
+     */
+    public HistoryView view(final long gameId, final Integer ply) {
+        final LiveHistory live = historiesByGame.get(gameId);
+
+        if (live == null) {
+            throw new HistoryUnavailableException(gameId, "Game %d has no history on this server.".formatted(gameId));
+        }
+
+        synchronized (live) {
+            final GameHistory history = live.history;
+            final int shownPly = ply == null ? history.getPly() : ply;
+
+            if (shownPly < history.getFirstPly() || shownPly > history.getLastPly()) {
+                throw new HistoryUnavailableException(gameId, "Game %d has no ply %d, only %d to %d."
+                        .formatted(gameId, shownPly, history.getFirstPly(), history.getLastPly()));
+            }
+
+            final Board board = history.boardAt(shownPly);
+
+            return new HistoryView(gameId, history.getFirstPly(), history.getPly(), history.getLastPly(), shownPly,
+                    board.getPits(), board.getCurrentPlayer().toString(), history.getMemoryBytes());
+        }
+    }
+
+    /**
+     * Gets the memory used by the histories.
+     *
+     * @return the statistics
+     */
+    public HistoryStats getStats() {
+        long memoryBytes = 0;
+
+        for (final LiveHistory live : historiesByGame.values()) {
+            synchronized (live) {
+                memoryBytes += live.history.getMemoryBytes();
+            }
+        }
+
+        return new HistoryStats(historiesByGame.size(), memoryBytes, maxBytesPerGame, checkpointInterval);
+    }
+
+    /**
+     * Replaces the board outside the lock of the history, then records the change once all earlier ones are in.
+     */
+    private boolean commit(final LiveHistory live, final Predicate<BoardSnapshot> replace, final BoardSnapshot next,
+                           final Change change) {
+        boolean replaced = false;
+
+        try {
+            replaced = replace.test(next);
+            return replaced;
+        } finally {
+            synchronized (live) {
+                live.changesInFlight--;
+
+                if (replaced) {
+                    live.pending.put(change.previous().getVersion(), change);
+                }
+
+                applyPending(live);
+            }
+        }
+    }
+
+    /**
+     * Applies the pending changes in the order of their versions. A change that does not follow the history can
+     * still be completed by a change in flight on this node; once there is none, the version in between was
+     * stored elsewhere, e.g. on another node, and the history starts over from the earliest pending change.
+     */
+    private void applyPending(final LiveHistory live) {
+        while (!live.pending.isEmpty()) {
+            // Changes on versions the history already passed were superseded, e.g. by a reset.
+            live.pending.headMap(live.version).clear();
+
+            Change change = live.pending.remove(live.version);
+
+            if (change == null) {
+                if (live.pending.isEmpty() || live.changesInFlight > 0) {
+                    return;
+                }
+
+                change = live.pending.pollFirstEntry().getValue();
+                live.history = newHistory(change.restartFrom().toBoard());
+                live.version = change.restartFrom().getVersion();
+            }
+
+            switch (change) {
+                case RecordedMove move when live.version == move.previous().getVersion() ->
+                        live.history.record(move.next().getLastPickedPit(), move.after());
+                case Travel travel when live.version == travel.previous().getVersion() ->
+                        live.history.moveTo(travel.targetPly());
+                default -> {
+                    // The history started over from the board after the travel.
+                }
+            }
+
+            live.version = change.next().getVersion();
+        }
+    }
+
+    private GameHistory newHistory(final Board start) {
+        return new GameHistory(start, checkpointInterval, maxBytesPerGame);
+    }
+
+    /**
+     * Forgets an arbitrary other game if the limit is reached. Only undoing in that game is no longer possible.
+     */
+    private void evictIfFull(final long gameId) {
+        if (historiesByGame.size() < maxGames || historiesByGame.containsKey(gameId)) {
+            return;
+        }
+
+        final Iterator<Long> gameIds = historiesByGame.keySet().iterator();
+
+        if (gameIds.hasNext()) {
+            historiesByGame.remove(gameIds.next());
+        }
+    }
+
+    /**
+     * Holds the history of a game, the version of the snapshot at its current ply and the changes that were
+     * stored but cannot be recorded yet.
+     */
+    private static final class LiveHistory {
+        private final NavigableMap<Long, Change> pending = new TreeMap<>();
+        private GameHistory history;
+        private long version;
+        private int changesInFlight;
+
+        private LiveHistory(final GameHistory history, final long version) {
+            this.history = history;
+            this.version = version;
+        }
+    }
+
+    /**
+     * A change stored in the repository, keyed by the version it was made on.
+     */
+    private sealed interface Change permits RecordedMove, Travel {
+        BoardSnapshot previous();
+
+        BoardSnapshot next();
+
+        /**
+         * Gets the snapshot a history starting over with this change begins with.
+         *
+         * @return the first snapshot of the new history
+         */
+        BoardSnapshot restartFrom();
+    }
+
+    private record RecordedMove(BoardSnapshot previous, BoardSnapshot next, Board after) implements Change {
+        @Override
+        public BoardSnapshot restartFrom() {
+            return previous;
+        }
+    }
+
+    private record Travel(BoardSnapshot previous, BoardSnapshot next, int targetPly) implements Change {
+        @Override
+        public BoardSnapshot restartFrom() {
+            // The plies the travel chose from are not known to a new history.
+            return next;
+        }
+    }
+}
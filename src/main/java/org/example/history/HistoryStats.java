@@ -0,0 +1,12 @@
+package org.example.history;
+
+/**
+ * Represents the memory used by the histories of the live games.
+ *
+ * @param games              the number of games with a history
+ * @param memoryBytes        the number of bytes used by all histories
+ * @param maxBytesPerGame    the number of bytes a history may use before its oldest plies are forgotten
+ * @param checkpointInterval the number of plies between two checkpoints
+ */
+public record HistoryStats(int games, long memoryBytes, long maxBytesPerGame, int checkpointInterval) {
+}
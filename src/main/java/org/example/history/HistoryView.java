@@ -0,0 +1,17 @@
+package org.example.history;
+
+/**
+ * Represents the history of a game as seen by clients, with the board at one of its plies.
+ *
+ * @param gameId        the id of the game
+ * @param firstPly      the earliest ply that can still be reached
+ * @param currentPly    the ply of the current board
+ * @param lastPly       the last recorded ply, after the current one if moves were undone
+ * @param ply           the ply of the shown board
+ * @param pits          the stones in each pit at the shown ply, including the stores
+ * @param currentPlayer the human-readable player whose turn it is at the shown ply
+ * @param memoryBytes   the number of bytes used by the history
+ */
+public record HistoryView(long gameId, int firstPly, int currentPly, int lastPly, int ply, int[] pits,
+                          String currentPlayer, long memoryBytes) {
+}
@@ -4,6 +4,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.example.exception.ErrorCode;
 import org.example.exception.GameLogicException;
+import org.example.rules.RuleVariant;
+import org.example.rules.SowingTables;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -14,6 +16,9 @@ import java.util.stream.IntStream;
  * Represents the mancala board of the game.
  * <p>
  * The board consists of pits and stores. The board is only for two players.
+ * <p>
+ * Where the stones are sown and when they are captured depends on the {@link RuleVariant}. Its rules are
+ * looked up in {@link SowingTables} shared by all boards of the same size and variant.
  */
 public class Board {
     @Getter
@@ -25,20 +30,46 @@ public class Board {
     private final int numberOfPitsPerPlayer;
     @Getter
     private final int stonesPerPit;
+    @Getter
+    private final RuleVariant variant;
+    private final SowingTables tables;
     /**
      * The number of players in the game.
      */
     public static final int PLAYER_COUNT = Player.values().length;
+    /**
+     * The largest number of pits per player of a board.
+     */
+    public static final int MAX_NUMBER_OF_PITS_PER_PLAYER = 1024;
+    /**
+     * The largest number of stones per pit a game can be started with.
+     */
+    public static final int MAX_STONES_PER_PIT = 1 << 16;
     private static final int DEFAULT_NUMBER_OF_PITS_PER_PLAYER = 6;
     private static final int DEFAULT_STONES_PER_PIT = 6;
 
     /**
-     * Creates a new board with the given number of pits per player and stones per pit.
+     * Creates a new board with the given number of pits per player and stones per pit, played with the
+     * {@link RuleVariant#CLASSIC} rules.
      *
      * @param numberOfPitsPerPlayer the number of pits per player
      * @param stonesPerPit          the number of stones per pit
      */
     public Board(final int numberOfPitsPerPlayer, final int stonesPerPit) {
+        this(numberOfPitsPerPlayer, stonesPerPit, RuleVariant.CLASSIC);
+    }
+
+    /**
+     * Creates a new board with the given number of pits per player, stones per pit and rules.
+     *
+     * @param numberOfPitsPerPlayer the number of pits per player
+     * @param stonesPerPit          the number of stones per pit
+     * @param variant               the rules of the game
+     * @throws IllegalArgumentException if the size is not supported, see {@link #isSupportedSize(int, int)}
+     */
+    public Board(final int numberOfPitsPerPlayer, final int stonesPerPit, final RuleVariant variant) {
+        checkSize(numberOfPitsPerPlayer, stonesPerPit);
+
         pits = new int[numberOfPitsPerPlayer * PLAYER_COUNT + 2];
 
         Arrays.fill(pits, stonesPerPit);
@@ -49,6 +80,45 @@ public class Board {
         this.currentPlayer = Player.ONE;
         this.numberOfPitsPerPlayer = numberOfPitsPerPlayer;
         this.stonesPerPit = stonesPerPit;
+        this.variant = variant;
+        this.tables = SowingTables.of(numberOfPitsPerPlayer, variant);
+    }
+
+    /**
+     * Restores a board played with the {@link RuleVariant#CLASSIC} rules from a previously captured state.
+     *
+     * @see #Board(int, int, int[], Player, RuleVariant)
+     */
+    public Board(final int numberOfPitsPerPlayer, final int stonesPerPit, final int[] pits, final Player currentPlayer) {
+        this(numberOfPitsPerPlayer, stonesPerPit, pits, currentPlayer, RuleVariant.CLASSIC);
+    }
+
+    /**
+     * Restores a board from a previously captured state.
+     *
+     * @param numberOfPitsPerPlayer the number of pits per player
+     * @param stonesPerPit          the number of stones per pit the game was started with
+     * @param pits                  the stones in each pit, including the stores; copied
+     * @param currentPlayer         the player whose turn it is
+     * @param variant               the rules of the game
+     * @throws IllegalArgumentException if the size is not supported or the pits do not match the number of
+     *                                  pits per player
+     */
+    public Board(final int numberOfPitsPerPlayer, final int stonesPerPit, final int[] pits, final Player currentPlayer,
+                 final RuleVariant variant) {
+        checkSize(numberOfPitsPerPlayer, stonesPerPit);
+
+        if (pits.length != numberOfPitsPerPlayer * PLAYER_COUNT + 2) {
+            throw new IllegalArgumentException("Expected %d pits but got %d."
+                    .formatted(numberOfPitsPerPlayer * PLAYER_COUNT + 2, pits.length));
+        }
+
+        this.pits = pits.clone();
+        this.currentPlayer = currentPlayer;
+        this.numberOfPitsPerPlayer = numberOfPitsPerPlayer;
+        this.stonesPerPit = stonesPerPit;
+        this.variant = variant;
+        this.tables = SowingTables.of(numberOfPitsPerPlayer, variant);
     }
 
     /**
@@ -62,6 +132,37 @@ public class Board {
         this(DEFAULT_NUMBER_OF_PITS_PER_PLAYER, DEFAULT_STONES_PER_PIT);
     }
 
+    /**
+     * Creates a new board with the default number of pits per player and stones per pit, played with the
+     * given rules.
+     *
+     * @param variant the rules of the game
+     * @see #Board(int, int, RuleVariant)
+     */
+    public Board(final RuleVariant variant) {
+        this(DEFAULT_NUMBER_OF_PITS_PER_PLAYER, DEFAULT_STONES_PER_PIT, variant);
+    }
+
+    /**
+     * Checks if a board of the given size can be created.
+     *
+     * @param numberOfPitsPerPlayer the number of pits per player
+     * @param stonesPerPit          the number of stones per pit
+     * @return true if both are positive and at most {@link #MAX_NUMBER_OF_PITS_PER_PLAYER} and
+     * {@link #MAX_STONES_PER_PIT}, false otherwise
+     */
+    public static boolean isSupportedSize(final int numberOfPitsPerPlayer, final int stonesPerPit) {
+        return numberOfPitsPerPlayer > 0 && numberOfPitsPerPlayer <= MAX_NUMBER_OF_PITS_PER_PLAYER
+                && stonesPerPit > 0 && stonesPerPit <= MAX_STONES_PER_PIT;
+    }
+
+    private static void checkSize(final int numberOfPitsPerPlayer, final int stonesPerPit) {
+        if (!isSupportedSize(numberOfPitsPerPlayer, stonesPerPit)) {
+            throw new IllegalArgumentException("Unsupported board of %d pits per player and %d stones per pit."
+                    .formatted(numberOfPitsPerPlayer, stonesPerPit));
+        }
+    }
+
     /**
      * Checks if the pit with the given index exists.
      *
@@ -79,7 +180,7 @@ public class Board {
      * @return true if it is the correct player's turn, false otherwise
      */
     public boolean checkCorrectPlayersTurn(final int pitIndex) {
-        return getPlayersPitsIndicesRange(currentPlayer).anyMatch(i -> i == pitIndex);
+        return checkPitExists(pitIndex) && tables.isPlayersPit(currentPlayer, pitIndex);
     }
 
 
@@ -90,8 +191,8 @@ public class Board {
      * @return the pits indices of the player
      */
     public IntStream getPlayersPitsIndicesRange(final Player player) {
-        final int startIndexInclusive = player.isPlayerOne() ? 0 : numberOfPitsPerPlayer + 1;
-        final int endIndexExclusive = player.isPlayerOne() ? numberOfPitsPerPlayer : pits.length - 1;
+        final int startIndexInclusive = tables.getFirstPit(player);
+        final int endIndexExclusive = startIndexInclusive + numberOfPitsPerPlayer;
 
         return IntStream.range(startIndexInclusive, endIndexExclusive);
     }
@@ -165,24 +266,56 @@ public class Board {
         throwIfInvalidMove(pickedPitIndex);
 
         final List<Move> moves = new ArrayList<>();
-        int capturedStonesCount = pits[pickedPitIndex];
+        int stonesInHandCount = pits[pickedPitIndex];
         pits[pickedPitIndex] = 0;
         int currentWalkingPitIndex = pickedPitIndex;
 
-        while (capturedStonesCount > 0) {
-            currentWalkingPitIndex = (currentWalkingPitIndex + 1) % pits.length;
+        while (stonesInHandCount > 0) {
+            currentWalkingPitIndex = tables.getNextPit(currentPlayer, currentWalkingPitIndex);
 
             pits[currentWalkingPitIndex]++;
-            capturedStonesCount--;
+            stonesInHandCount--;
             moves.add(new Move(pickedPitIndex, currentWalkingPitIndex));
         }
 
+        captureIfPossible(currentWalkingPitIndex, moves);
         changeTurnIfNecessary(currentWalkingPitIndex);
         collectRemainingStonesIfGameOver();
 
         return moves;
     }
 
+    /**
+     * Captures the last stone and the stones of the opposite pit if the last stone was dropped into an empty
+     * pit of the current player and the rules allow it. Every captured stone is added to the moves.
+     *
+     * @param stoppedPitIndex the index of the pit where the last stone was dropped
+     * @param moves           the moves made so far
+     */
+    private void captureIfPossible(final int stoppedPitIndex, final List<Move> moves) {
+        if (pits[stoppedPitIndex] != 1 || !tables.isPlayersPit(currentPlayer, stoppedPitIndex)) {
+            return;
+        }
+
+        final int oppositePitIndex = tables.getOppositePit(stoppedPitIndex);
+
+        if (pits[oppositePitIndex] < tables.getCaptureThreshold()) {
+            return;
+        }
+
+        final int storeIndex = tables.getStoreIndex(currentPlayer);
+
+        for (int i = 0; i < pits[oppositePitIndex]; i++) {
+            moves.add(new Move(oppositePitIndex, storeIndex));
+        }
+
+        moves.add(new Move(stoppedPitIndex, storeIndex));
+
+        pits[storeIndex] += pits[oppositePitIndex] + 1;
+        pits[oppositePitIndex] = 0;
+        pits[stoppedPitIndex] = 0;
+    }
+
     /**
      * Changes the turn if the last stone was dropped in the player's store.
      *
@@ -217,8 +350,7 @@ public class Board {
      * @return true if the player has an extra turn, false otherwise
      */
     private boolean hasExtraTurn(final int stoppedPitIndex) {
-        final var value = getPlayersPitsIndicesRange(currentPlayer).max();
-        return value.isPresent() && value.getAsInt() + 1 == stoppedPitIndex;
+        return stoppedPitIndex == tables.getStoreIndex(currentPlayer);
     }
 
     /**
@@ -228,7 +360,7 @@ public class Board {
      * @return the index of the store pit
      */
     public int getStoreIndexForPlayer(final Player player) {
-        return player.isPlayerOne() ? numberOfPitsPerPlayer : pits.length - 1;
+        return tables.getStoreIndex(player);
     }
 
     /**
@@ -247,25 +379,40 @@ public class Board {
      * @return true if the game is over, false otherwise
      */
     public boolean isGameOver() {
-        final boolean player1Empty = getPlayersPitsIndicesRange(Player.ONE).allMatch(i -> pits[i] == 0);
-        final boolean player2Empty = getPlayersPitsIndicesRange(Player.TWO).allMatch(i -> pits[i] == 0);
+        return isPlayersSideEmpty(Player.ONE) || isPlayersSideEmpty(Player.TWO);
+    }
 
-        return player1Empty || player2Empty;
+    /**
+     * Checks if all pits of the player are empty.
+     *
+     * @param player the player
+     * @return true if the player has no stones left outside the store, false otherwise
+     */
+    private boolean isPlayersSideEmpty(final Player player) {
+        final int firstPit = tables.getFirstPit(player);
+
+        for (int i = firstPit; i < firstPit + numberOfPitsPerPlayer; i++) {
+            if (pits[i] != 0) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
      * Collects the remaining stones and puts them in the stores.
      */
     public void collectRemainingStones() {
-        getPlayersPitsIndicesRange(Player.ONE).forEach(i -> {
-            pits[getStoreIndexForPlayer(Player.ONE)] += pits[i];
-            pits[i] = 0;
-        });
-
-        getPlayersPitsIndicesRange(Player.TWO).forEach(i -> {
-            pits[getStoreIndexForPlayer(Player.TWO)] += pits[i];
-            pits[i] = 0;
-        });
+        for (final Player player : Player.values()) {
+            final int firstPit = tables.getFirstPit(player);
+            final int storeIndex = tables.getStoreIndex(player);
+
+            for (int i = firstPit; i < firstPit + numberOfPitsPerPlayer; i++) {
+                pits[storeIndex] += pits[i];
+                pits[i] = 0;
+            }
+        }
     }
 
     /**
@@ -0,0 +1,48 @@
+package org.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Represents the changes of the board between two versions, as seen by clients.
+ *
+ * @param gameId        the id of the game
+ * @param sinceVersion  the version the changes are relative to
+ * @param version       the current version of the board
+ * @param changedPits   the indices of the pits whose stones changed, in ascending order
+ * @param stones        the current stones of each changed pit
+ * @param currentPlayer the human-readable player whose turn it is
+ * @param winner        the human-readable winner, or null while the game is not over
+ */
+public record BoardDelta(long gameId, long sinceVersion, long version, int[] changedPits, int[] stones,
+                         String currentPlayer, String winner) {
+
+    /**
+     * Computes the changes from one state of the board to a later one.
+     *
+     * @param since   the earlier state
+     * @param current the later state
+     * @return the changes
+     * @throws IllegalArgumentException if the states have different numbers of pits
+     */
+    public static BoardDelta between(final BoardState since, final BoardState current) {
+        if (since.pits().length != current.pits().length) {
+            throw new IllegalArgumentException("Cannot compare boards with %d and %d pits."
+                    .formatted(since.pits().length, current.pits().length));
+        }
+
+        final int[] changedPits = new int[current.pits().length];
+        final int[] stones = new int[current.pits().length];
+        int changedCount = 0;
+
+        for (int i = 0; i < current.pits().length; i++) {
+            if (since.pits()[i] != current.pits()[i]) {
+                changedPits[changedCount] = i;
+                stones[changedCount] = current.pits()[i];
+                changedCount++;
+            }
+        }
+
+        return new BoardDelta(current.gameId(), since.version(), current.version(), Arrays.copyOf(changedPits, changedCount),
+                Arrays.copyOf(stones, changedCount), current.currentPlayer(), current.winner());
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.model;
+
+import lombok.Getter;
+import org.example.rules.RuleVariant;
+
+import java.util.List;
+
+/**
+ * Represents an immutable, versioned state of the board.
+ * <p>
+ * A game holds exactly one snapshot at a time and replaces it on every move, so readers never see
+ * a half-made move and never have to wait for one. A snapshot also remembers the move that created it,
+ * which lets a retried move request be answered without applying the move twice.
+ */
+public final class BoardSnapshot {
+    /**
+     * The pit index recorded when the snapshot was not created by a move.
+     */
+    public static final int NO_PIT = -1;
+
+    @Getter
+    private final long version;
+    @Getter
+    private final int numberOfPitsPerPlayer;
+    @Getter
+    private final int stonesPerPit;
+    @Getter
+    private final RuleVariant variant;
+    private final int[] pits;
+    @Getter
+    private final Player currentPlayer;
+    /**
+     * The winner of the game, or null while the game is not over.
+     */
+    @Getter
+    private final Winner winner;
+    /**
+     * The pit picked by the move that created this snapshot, or {@link #NO_PIT}.
+     */
+    @Getter
+    private final int lastPickedPit;
+    /**
+     * The moves made by the move that created this snapshot.
+     */
+    @Getter
+    private final List<Move> lastMoves;
+
+    private BoardSnapshot(final long version, final Board board, final int lastPickedPit, final List<Move> lastMoves) {
+        this.version = version;
+        this.numberOfPitsPerPlayer = board.getNumberOfPitsPerPlayer();
+        this.stonesPerPit = board.getStonesPerPit();
+        this.variant = board.getVariant();
+        this.pits = board.getPits().clone();
+        this.currentPlayer = board.getCurrentPlayer();
+        this.winner = board.isGameOver() ? board.determineWinner() : null;
+        this.lastPickedPit = lastPickedPit;
+        this.lastMoves = List.copyOf(lastMoves);
+    }
+
+    /**
+     * Captures the board as a snapshot that was not created by a move.
+     *
+     * @param board   the board to capture
+     * @param version the version of the snapshot
+     * @return the snapshot
+     */
+    public static BoardSnapshot of(final Board board, final long version) {
+        return new BoardSnapshot(version, board, NO_PIT, List.of());
+    }
+
+    /**
+     * Restores a snapshot that was stored elsewhere, e.g. in a shared store.
+     *
+     * @param version       the version of the snapshot
+     * @param board         the state of the board
+     * @param lastPickedPit the pit picked by the move that created the snapshot, or {@link #NO_PIT}
+     * @param lastMoves     the moves made by the move that created the snapshot
+     * @return the snapshot
+     */
+    public static BoardSnapshot restore(final long version, final Board board, final int lastPickedPit,
+                                        final List<Move> lastMoves) {
+        return new BoardSnapshot(version, board, lastPickedPit, lastMoves);
+    }
+
+    /**
+     * Captures the board after a move as the successor of this snapshot.
+     *
+     * @param board      the board after the move
+     * @param pickedPit  the pit picked by the move
+     * @param moves      the moves made
+     * @return the snapshot with the next version
+     */
+    public BoardSnapshot next(final Board board, final int pickedPit, final List<Move> moves) {
+        return new BoardSnapshot(version + 1, board, pickedPit, moves);
+    }
+
+    /**
+     * Checks if this snapshot was created by picking the pit in the snapshot with the given version.
+     *
+     * @param previousVersion the version the move was made on
+     * @param pickedPit       the pit picked by the move
+     * @return true if this snapshot is the result of that move, false otherwise
+     */
+    public boolean isResultOf(final long previousVersion, final int pickedPit) {
+        return version == previousVersion + 1 && lastPickedPit == pickedPit && lastPickedPit != NO_PIT;
+    }
+
+    /**
+     * Checks if no stone was moved yet: every pit still holds its starting stones and both stores are empty.
+     * <p>
+     * Stores never lose stones and stones only move forward until they reach one, so a game can never return
+     * to this position. Unlike {@link #getLastPickedPit()}, this also holds for snapshots created by a reset
+     * or by undoing every move.
+     *
+     * @return true if the snapshot shows the starting position, false otherwise
+     */
+    public boolean isStartOfGame() {
+        for (int i = 0; i < pits.length; i++) {
+            final boolean store = i == numberOfPitsPerPlayer || i == pits.length - 1;
+
+            if (pits[i] != (store ? 0 : stonesPerPit)) {
+                return false;
+            }
+        }
+
+        return currentPlayer == Player.ONE;
+    }
+
+    /**
+     * Gets a copy of the pits.
+     *
+     * @return the stones in each pit, including the stores
+     */
+    public int[] getPits() {
+        return pits.clone();
+    }
+
+    /**
+     * Gets the number of stones in the pit with the given index.
+     *
+     * @param pitIndex the index of the pit
+     * @return the number of stones in the pit
+     */
+    public int getStonesInPit(final int pitIndex) {
+        return pits[pitIndex];
+    }
+
+    /**
+     * Gets the number of pits, including the stores.
+     *
+     * @return the number of pits
+     */
+    public int getPitCount() {
+        return pits.length;
+    }
+
+    /**
+     * Checks if the game is over.
+     *
+     * @return true if the game is over, false otherwise
+     */
+    public boolean isGameOver() {
+        return winner != null;
+    }
+
+    /**
+     * Inflates the snapshot into a new mutable board.
+     *
+     * @return the board
+     */
+    public Board toBoard() {
+        return new Board(numberOfPitsPerPlayer, stonesPerPit, pits, currentPlayer, variant);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.model;
+
+/**
+ * Represents an immutable, client-facing view of the board at a given version.
+ *
+ * @param gameId        the id of the game
+ * @param version       the version of the board, increased on every change
+ * @param pits          the stones in each pit, including the stores
+ * @param currentPlayer the human-readable player whose turn it is
+ * @param winner        the human-readable winner, or null while the game is not over
+ */
+public record BoardState(long gameId, long version, int[] pits, String currentPlayer, String winner) {
+}
@@ -1,25 +1,14 @@
 package org.example.model;
 
-import lombok.*;
-
 import java.io.Serializable;
 
 /**
- * Represents a move in the game.
+ * Represents a move of one stone in the game.
+ * <p>
+ * Moves are immutable, so the moves of a {@link BoardSnapshot} can be shared between threads and caches.
+ *
+ * @param fromPitIndex the index of the pit to move the stones from
+ * @param toPitIndex   the index of the pit to move the stones to
  */
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-@EqualsAndHashCode
-public class Move implements Serializable {
-    /**
-     * The index of the pit to move the stones from.
-     */
-    private int fromPitIndex;
-
-    /**
-     * The index of the pit to move the stones to.
-     */
-    private int toPitIndex;
-}
\ No newline at end of file
+public record Move(int fromPitIndex, int toPitIndex) implements Serializable {
+}
@@ -0,0 +1,49 @@
+package org.example.repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stands in for a networked shared store inside a single JVM.
+ * <p>
+ * Values are copied on the way in and out, like they would be over the network, so several
+ * {@link SharedStoreGameRepository} instances sharing it behave like separate nodes.
+ */
+public class EmbeddedSharedStore implements SharedStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Entry> get(final String key) {
+        final Entry entry = entries.get(key);
+        return entry == null ? Optional.empty() : Optional.of(new Entry(entry.version(), entry.value().clone()));
+    }
+
+    @Override
+    public boolean putIfAbsent(final String key, final long version, final byte[] value) {
+        return entries.putIfAbsent(key, new Entry(version, value.clone())) == null;
+    }
+
+    @Override
+    public boolean putIfVersion(final String key, final long expectedVersion, final long version, final byte[] value) {
+        final boolean[] replaced = new boolean[1];
+        final Entry next = new Entry(version, value.clone());
+
+        entries.computeIfPresent(key, (ignored, current) -> {
+            replaced[0] = current.version() == expectedVersion;
+            return replaced[0] ? next : current;
+        });
+
+        return replaced[0];
+    }
+
+    /**
+     * Gets the number of stored values.
+     *
+     * @return the number of stored values
+     */
+    public int size() {
+        return entries.size();
+    }
+}
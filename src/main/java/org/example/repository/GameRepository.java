@@ -0,0 +1,50 @@
+package org.example.repository;
+
+import org.example.model.BoardSnapshot;
+
+import java.util.Optional;
+
+/**
+ * Stores the current snapshot of every game.
+ * <p>
+ * Snapshots are only ever replaced if the stored version is still the expected one, so several nodes can
+ * share a repository without locking.
+ */
+public interface GameRepository {
+    /**
+     * Finds the current snapshot of the game. Implementations may answer from a cache.
+     *
+     * @param gameId the id of the game
+     * @return the snapshot, or empty if the game does not exist
+     */
+    Optional<BoardSnapshot> find(long gameId);
+
+    /**
+     * Finds the current snapshot of the game, bypassing any cache.
+     *
+     * @param gameId the id of the game
+     * @return the snapshot, or empty if the game does not exist
+     */
+    default Optional<BoardSnapshot> refresh(final long gameId) {
+        return find(gameId);
+    }
+
+    /**
+     * Stores the snapshot of a new game.
+     *
+     * @param gameId   the id of the game
+     * @param snapshot the first snapshot of the game
+     * @return false if a game with the id already exists, true otherwise
+     */
+    boolean create(long gameId, BoardSnapshot snapshot);
+
+    /**
+     * Replaces the snapshot of the game if it still has the version of the expected snapshot.
+     *
+     * @param gameId   the id of the game
+     * @param expected the snapshot the change was made on
+     * @param next     the new snapshot
+     * @return true if the snapshot was replaced, false if the game changed or does not exist
+     */
+    boolean replace(long gameId, BoardSnapshot expected, BoardSnapshot next);
+}
@@ -0,0 +1,55 @@
+package org.example.repository;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Chooses the {@link GameRepository} backend.
+ * <p>
+ * {@code mancala.repository.type=memory} (the default) keeps the games on this node only.
+ * {@code mancala.repository.type=off-heap} does so too, but moves the games idle for
+ * {@code mancala.repository.off-heap.idle-millis} out of the Java heap.
+ * {@code mancala.repository.type=shared} keeps them in the {@link SharedStore} bean, which must be defined,
+ * behind a near-cache unless {@code mancala.repository.near-cache.enabled=false}.
+ */
+@Configuration
+public class GameRepositoryConfiguration {
+
+    /**
+     * Creates the repository of the configured type.
+     *
+     * @param type                  the type of the repository, memory, off-heap or shared
+     * @param idleMillis            the time without access after which the off-heap repository moves a game
+     * @param nearCacheEnabled      whether reads of the shared repository are cached on this node
+     * @param nearCacheTtlMillis    how long a cached snapshot may be used for reads
+     * @param nearCacheMaxEntries   the number of games to cache at most
+     * @param sharedStores          the shared store, if one is configured
+     * @return the repository
+     * @throws IllegalStateException if the shared repository is chosen but no shared store is defined
+     */
+    @Bean
+    public GameRepository gameRepository(@Value("${mancala.repository.type:memory}") final String type,
+                                         @Value("${mancala.repository.off-heap.idle-millis:60000}") final long idleMillis,
+                                         @Value("${mancala.repository.near-cache.enabled:true}") final boolean nearCacheEnabled,
+                                         @Value("${mancala.repository.near-cache.ttl-millis:200}") final long nearCacheTtlMillis,
+                                         @Value("${mancala.repository.near-cache.max-entries:100000}") final int nearCacheMaxEntries,
+                                         final ObjectProvider<SharedStore> sharedStores) {
+        return switch (type) {
+            case "memory" -> new InMemoryGameRepository();
+            case "off-heap" -> new OffHeapIdleGameRepository(idleMillis);
+            case "shared" -> {
+                // Falling back to a store inside this JVM would quietly split the game state between the nodes.
+                final SharedStore store = sharedStores.getIfAvailable(() -> {
+                    throw new IllegalStateException(
+                            "mancala.repository.type=shared needs a SharedStore bean, but none is defined.");
+                });
+                final GameRepository shared = new SharedStoreGameRepository(store);
+                yield nearCacheEnabled ? new NearCachingGameRepository(shared, nearCacheTtlMillis, nearCacheMaxEntries) : shared;
+            }
+            default -> throw new IllegalArgumentException(
+                    "Unknown game repository type " + type + ", use memory, off-heap or shared.");
+        };
+    }
+}
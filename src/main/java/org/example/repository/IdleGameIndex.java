@@ -0,0 +1,170 @@
+package org.example.repository;
+
+import java.util.Arrays;
+
+/**
+ * Maps the ids of idle games to their off-heap slots without any object per game.
+ * <p>
+ * The index is an open-addressed hash table of parallel primitive arrays probed linearly, so an entry takes
+ * 24 bytes per table slot and the garbage collector only ever sees three arrays. Removed entries are closed
+ * by shifting the following entries back, so lookups never have to skip tombstones.
+ * <p>
+ * The index is not thread-safe.
+ */
+final class IdleGameIndex {
+    /**
+     * The key of an empty table slot. A game with this id is never indexed.
+     */
+    static final long NO_GAME = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] gameIds;
+    private long[] versions;
+    private long[] locations;
+    private int size;
+
+    IdleGameIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Adds or replaces the entry of a game.
+     *
+     * @param gameId   the id of the game
+     * @param version  the version of its snapshot
+     * @param location where the game is stored, see {@link #getLocation(int)}
+     * @throws IllegalArgumentException if the id is {@link #NO_GAME}
+     */
+    void put(final long gameId, final long version, final long location) {
+        if (gameId == NO_GAME) {
+            throw new IllegalArgumentException("Game id %d cannot be indexed.".formatted(gameId));
+        }
+
+        if ((size + 1) * 4L > gameIds.length * 3L) {
+            resize(gameIds.length * 2);
+        }
+
+        final int slot = probe(gameId);
+
+        if (gameIds[slot] == NO_GAME) {
+            gameIds[slot] = gameId;
+            size++;
+        }
+
+        versions[slot] = version;
+        locations[slot] = location;
+    }
+
+    /**
+     * Finds the table slot of a game.
+     *
+     * @param gameId the id of the game
+     * @return the table slot, or -1 if the game is not indexed
+     */
+    int find(final long gameId) {
+        if (gameId == NO_GAME) {
+            return -1;
+        }
+
+        final int slot = probe(gameId);
+        return gameIds[slot] == NO_GAME ? -1 : slot;
+    }
+
+    /**
+     * Gets the version of the game in a table slot.
+     *
+     * @param slot the table slot returned by {@link #find(long)}
+     * @return the version
+     */
+    long getVersion(final int slot) {
+        return versions[slot];
+    }
+
+    /**
+     * Gets where the game in a table slot is stored, as packed by the caller.
+     *
+     * @param slot the table slot returned by {@link #find(long)}
+     * @return the location
+     */
+    long getLocation(final int slot) {
+        return locations[slot];
+    }
+
+    /**
+     * Removes the game in a table slot.
+     *
+     * @param slot the table slot returned by {@link #find(long)}
+     */
+    void remove(final int slot) {
+        final int mask = gameIds.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+
+        // Move every entry of the probe sequence back into the hole, unless it would then precede its home slot.
+        while (gameIds[next] != NO_GAME) {
+            final int home = home(gameIds[next]);
+
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                gameIds[hole] = gameIds[next];
+                versions[hole] = versions[next];
+                locations[hole] = locations[next];
+                hole = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+
+        gameIds[hole] = NO_GAME;
+        size--;
+    }
+
+    /**
+     * Gets the number of indexed games.
+     *
+     * @return the number of games
+     */
+    int size() {
+        return size;
+    }
+
+    private int probe(final long gameId) {
+        final int mask = gameIds.length - 1;
+        int slot = home(gameId);
+
+        while (gameIds[slot] != NO_GAME && gameIds[slot] != gameId) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private int home(final long gameId) {
+        // Game ids are random, but spread them anyway in case they are sequential.
+        final long hash = gameId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (gameIds.length - 1);
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldGameIds = gameIds;
+        final long[] oldVersions = versions;
+        final long[] oldLocations = locations;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldGameIds.length; i++) {
+            if (oldGameIds[i] != NO_GAME) {
+                final int slot = probe(oldGameIds[i]);
+                gameIds[slot] = oldGameIds[i];
+                versions[slot] = oldVersions[i];
+                locations[slot] = oldLocations[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        gameIds = new long[capacity];
+        versions = new long[capacity];
+        locations = new long[capacity];
+        Arrays.fill(gameIds, NO_GAME);
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.repository;
+
+import org.example.model.BoardSnapshot;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the games in the memory of a single node.
+ */
+public class InMemoryGameRepository implements GameRepository {
+
+    private final Map<Long, BoardSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<BoardSnapshot> find(final long gameId) {
+        return Optional.ofNullable(snapshots.get(gameId));
+    }
+
+    @Override
+    public boolean create(final long gameId, final BoardSnapshot snapshot) {
+        return snapshots.putIfAbsent(gameId, snapshot) == null;
+    }
+
+    @Override
+    public boolean replace(final long gameId, final BoardSnapshot expected, final BoardSnapshot next) {
+        final boolean[] replaced = new boolean[1];
+
+        snapshots.computeIfPresent(gameId, (id, current) -> {
+            replaced[0] = current.getVersion() == expected.getVersion();
+            return replaced[0] ? next : current;
+        });
+
+        return replaced[0];
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.repository;
+
+import org.example.model.BoardSnapshot;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the snapshots of a remote repository on the local node.
+ * <p>
+ * Reads are answered from the cache for a short time, so the hot path does not pay a round trip for
+ * every read. Writes always go to the remote repository with its version check, so a stale cache entry
+ * can never cause a lost update: a failed write evicts the entry and the next read fetches the current one.
+ */
+public class NearCachingGameRepository implements GameRepository {
+
+    private final GameRepository delegate;
+    private final long timeToLiveNanos;
+    private final int maxEntries;
+    private final Map<Long, CachedSnapshot> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new NearCachingGameRepository in front of the given repository.
+     *
+     * @param delegate          the remote repository
+     * @param timeToLiveMillis  how long a cached snapshot may be used for reads
+     * @param maxEntries        the number of games to cache at most
+     */
+    public NearCachingGameRepository(final GameRepository delegate, final long timeToLiveMillis, final int maxEntries) {
+        this.delegate = delegate;
+        this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Optional<BoardSnapshot> find(final long gameId) {
+        final CachedSnapshot cached = cache.get(gameId);
+
+        if (cached != null && System.nanoTime() - cached.cachedAt() < timeToLiveNanos) {
+            return Optional.of(cached.snapshot());
+        }
+
+        return refresh(gameId);
+    }
+
+    @Override
+    public Optional<BoardSnapshot> refresh(final long gameId) {
+        final Optional<BoardSnapshot> snapshot = delegate.find(gameId);
+
+        snapshot.ifPresentOrElse(found -> put(gameId, found), () -> cache.remove(gameId));
+
+        return snapshot;
+    }
+
+    @Override
+    public boolean create(final long gameId, final BoardSnapshot snapshot) {
+        final boolean created = delegate.create(gameId, snapshot);
+
+        if (created) {
+            put(gameId, snapshot);
+        }
+
+        return created;
+    }
+
+    @Override
+    public boolean replace(final long gameId, final BoardSnapshot expected, final BoardSnapshot next) {
+        final boolean replaced = delegate.replace(gameId, expected, next);
+
+        if (replaced) {
+            put(gameId, next);
+        } else {
+            cache.remove(gameId);
+        }
+
+        return replaced;
+    }
+
+    private void put(final long gameId, final BoardSnapshot snapshot) {
+        if (cache.size() >= maxEntries && !cache.containsKey(gameId)) {
+            // Any entry will do, the cache only has to stay bounded.
+            final Iterator<Long> keys = cache.keySet().iterator();
+
+            if (keys.hasNext()) {
+                cache.remove(keys.next());
+            }
+        }
+
+        cache.merge(gameId, new CachedSnapshot(snapshot, System.nanoTime()),
+                (current, candidate) -> current.snapshot().getVersion() > candidate.snapshot().getVersion() ? current : candidate);
+    }
+
+    private record CachedSnapshot(BoardSnapshot snapshot, long cachedAt) {
+    }
+}
@@ -0,0 +1,245 @@
+package org.example.repository;
+
+import org.example.model.Board;
+import org.example.model.BoardSnapshot;
+import org.example.storage.OffHeapBoardStore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the games in the memory of a single node, moving the idle ones out of the Java heap.
+ * <p>
+ * Games that were not read or changed for a while are packed into an {@link OffHeapBoardStore}, with one
+ * store per board size, and looked up through an {@link IdleGameIndex} of primitive arrays. An idle game
+ * therefore costs no object on the heap, only its share of the index and its off-heap slot. The next access
+ * inflates the board again. The moves of the last change are not kept, so a retried move on a game that
+ * went idle in between is answered without them.
+ * <p>
+ * Games being played are read and replaced without locking. Moving a game between the tiers locks the index.
+ */
+public class OffHeapIdleGameRepository implements GameRepository, AutoCloseable {
+    private static final int MAX_STORES = 1 << Byte.SIZE;
+    private static final int MAX_PIT = 0xFFFF - 1;
+
+    private final long idleMillis;
+    private final LongSupplier clock;
+    private final Map<Long, ActiveGame> activeGames = new ConcurrentHashMap<>();
+    private final IdleGameIndex idleGames = new IdleGameIndex();
+    private final List<OffHeapBoardStore> stores = new ArrayList<>();
+    private final Map<BoardSize, Integer> storeIndexes = new HashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Creates a new OffHeapIdleGameRepository that moves idle games off the heap in the background.
+     *
+     * @param idleMillis the time without access after which a game is moved off the heap
+     */
+    public OffHeapIdleGameRepository(final long idleMillis) {
+        this(idleMillis, System::currentTimeMillis);
+
+        sweeper.scheduleWithFixedDelay(this::sweep, idleMillis, idleMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new OffHeapIdleGameRepository that only moves idle games when {@link #sweep()} is called.
+     *
+     * @param idleMillis the time without access after which a game is moved off the heap
+     * @param clock      the source of the current time in milliseconds
+     */
+    OffHeapIdleGameRepository(final long idleMillis, final LongSupplier clock) {
+        if (idleMillis <= 0) {
+            throw new IllegalArgumentException("The idle time must be positive, not %d ms.".formatted(idleMillis));
+        }
+
+        this.idleMillis = idleMillis;
+        this.clock = clock;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("idle-game-sweeper").daemon().factory());
+    }
+
+    @Override
+    public Optional<BoardSnapshot> find(final long gameId) {
+        ActiveGame active = activeGames.get(gameId);
+
+        if (active == null) {
+            active = activate(gameId);
+        }
+
+        if (active == null) {
+            return Optional.empty();
+        }
+
+        active.lastAccessMillis = clock.getAsLong();
+        return Optional.of(active.snapshot);
+    }
+
+    @Override
+    public boolean create(final long gameId, final BoardSnapshot snapshot) {
+        synchronized (idleGames) {
+            return idleGames.find(gameId) < 0
+                    && activeGames.putIfAbsent(gameId, new ActiveGame(snapshot, clock.getAsLong())) == null;
+        }
+    }
+
+    @Override
+    public boolean replace(final long gameId, final BoardSnapshot expected, final BoardSnapshot next) {
+        final boolean[] replaced = new boolean[1];
+
+        // Once the game is on the heap the sweep cannot take it away again before the replace, it was just used.
+        while (activeGames.computeIfPresent(gameId, (id, current) -> {
+            replaced[0] = current.snapshot.getVersion() == expected.getVersion();
+            return replaced[0] ? new ActiveGame(next, clock.getAsLong()) : current;
+        }) == null) {
+            if (activate(gameId) == null) {
+                return false;
+            }
+        }
+
+        return replaced[0];
+    }
+
+    /**
+     * Moves the games that were not accessed for the idle time off the heap.
+     */
+    public void sweep() {
+        final long idleSince = clock.getAsLong() - idleMillis;
+
+        for (final Map.Entry<Long, ActiveGame> entry : activeGames.entrySet()) {
+            if (entry.getValue().lastAccessMillis <= idleSince) {
+                deactivate(entry.getKey(), entry.getValue(), idleSince);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of games stored off the heap.
+     *
+     * @return the number of idle games
+     */
+    public int getIdleGameCount() {
+        synchronized (idleGames) {
+            return idleGames.size();
+        }
+    }
+
+    /**
+     * Gets the number of bytes reserved off the heap for the idle games, including free slots.
+     *
+     * @return the number of bytes
+     */
+    public long getOffHeapBytes() {
+        synchronized (idleGames) {
+            return stores.stream().mapToLong(OffHeapBoardStore::getReservedBytes).sum();
+        }
+    }
+
+    /**
+     * Stops sweeping and releases the off-heap memory. The repository must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+
+        synchronized (idleGames) {
+            stores.forEach(OffHeapBoardStore::close);
+        }
+    }
+
+    /**
+     * Moves an idle game back onto the heap.
+     *
+     * @return the game, or null if it does not exist
+     */
+    private ActiveGame activate(final long gameId) {
+        synchronized (idleGames) {
+            final int slot = idleGames.find(gameId);
+
+            if (slot < 0) {
+                // Another thread may have activated it in the meantime.
+                return activeGames.get(gameId);
+            }
+
+            final long location = idleGames.getLocation(slot);
+            final OffHeapBoardStore store = stores.get(storeIndex(location));
+            final Board board = store.load(handle(location));
+            final BoardSnapshot snapshot =
+                    BoardSnapshot.restore(idleGames.getVersion(slot), board, pickedPit(location), List.of());
+            final ActiveGame active = new ActiveGame(snapshot, clock.getAsLong());
+
+            store.remove(handle(location));
+            idleGames.remove(slot);
+            activeGames.put(gameId, active);
+            return active;
+        }
+    }
+
+    private void deactivate(final long gameId, final ActiveGame active, final long idleSince) {
+        final BoardSnapshot snapshot = active.snapshot;
+
+        if (gameId == IdleGameIndex.NO_GAME || snapshot.getLastPickedPit() > MAX_PIT) {
+            return;
+        }
+
+        synchronized (idleGames) {
+            final Integer storeIndex = storeIndexes.computeIfAbsent(
+                    new BoardSize(snapshot.getNumberOfPitsPerPlayer(), snapshot.getStonesPerPit()), this::addStore);
+
+            // Only a game that was neither replaced nor used since the sweep looked at it is moved.
+            if (storeIndex == null || active.lastAccessMillis > idleSince || !activeGames.remove(gameId, active)) {
+                return;
+            }
+
+            final int handle = stores.get(storeIndex).store(snapshot.toBoard());
+            idleGames.put(gameId, snapshot.getVersion(), location(handle, storeIndex, snapshot.getLastPickedPit()));
+        }
+    }
+
+    private Integer addStore(final BoardSize size) {
+        if (stores.size() == MAX_STORES) {
+            // Games of any further board size simply stay on the heap.
+            return null;
+        }
+
+        stores.add(OffHeapBoardStore.direct(size.numberOfPitsPerPlayer(), size.stonesPerPit()));
+        return stores.size() - 1;
+    }
+
+    private static long location(final int handle, final int storeIndex, final int pickedPit) {
+        return Integer.toUnsignedLong(handle) | (long) storeIndex << Integer.SIZE
+                | (long) (pickedPit + 1) << (Integer.SIZE + Byte.SIZE);
+    }
+
+    private static int handle(final long location) {
+        return (int) location;
+    }
+
+    private static int storeIndex(final long location) {
+        return (int) (location >>> Integer.SIZE) & 0xFF;
+    }
+
+    private static int pickedPit(final long location) {
+        return (int) (location >>> (Integer.SIZE + Byte.SIZE)) - 1;
+    }
+
+    private static final class ActiveGame {
+        private final BoardSnapshot snapshot;
+        private volatile long lastAccessMillis;
+
+        private ActiveGame(final BoardSnapshot snapshot, final long lastAccessMillis) {
+            this.snapshot = snapshot;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+
+    private record BoardSize(int numberOfPitsPerPlayer, int stonesPerPit) {
+    }
+}
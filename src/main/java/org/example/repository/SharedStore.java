@@ -0,0 +1,49 @@
+package org.example.repository;
+
+import java.util.Optional;
+
+/**
+ * Represents a key-value store shared by all nodes, with versioned conditional writes.
+ * <p>
+ * This is the only contract a store has to fulfil to back a {@link SharedStoreGameRepository}, so a
+ * networked store can be plugged in by exposing it as a bean of this type.
+ */
+public interface SharedStore {
+    /**
+     * Gets the value stored under the key.
+     *
+     * @param key the key
+     * @return the value with its version, or empty if there is none
+     */
+    Optional<Entry> get(String key);
+
+    /**
+     * Stores the value if the key does not exist yet.
+     *
+     * @param key     the key
+     * @param version the version of the value
+     * @param value   the value
+     * @return true if the value was stored, false otherwise
+     */
+    boolean putIfAbsent(String key, long version, byte[] value);
+
+    /**
+     * Replaces the value if the stored version is the expected one.
+     *
+     * @param key             the key
+     * @param expectedVersion the version the stored value must have
+     * @param version         the version of the new value
+     * @param value           the new value
+     * @return true if the value was replaced, false otherwise
+     */
+    boolean putIfVersion(String key, long expectedVersion, long version, byte[] value);
+
+    /**
+     * Represents a stored value with its version.
+     *
+     * @param version the version of the value
+     * @param value   the value
+     */
+    record Entry(long version, byte[] value) {
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.repository;
+
+import org.example.model.BoardSnapshot;
+
+import java.util.Optional;
+
+/**
+ * Keeps the games in a {@link SharedStore}, so every node behind a load balancer sees the same games.
+ * <p>
+ * Snapshots are stored in the compact form of {@link BoardSnapshotCodec}, and replaced with a conditional
+ * write on the board version, so a move made on one node can never overwrite a move made on another.
+ */
+public class SharedStoreGameRepository implements GameRepository {
+
+    private static final String KEY_PREFIX = "mancala:game:";
+
+    private final SharedStore store;
+
+    /**
+     * Creates a new SharedStoreGameRepository with the given store.
+     *
+     * @param store the store shared by all nodes
+     */
+    public SharedStoreGameRepository(final SharedStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Optional<BoardSnapshot> find(final long gameId) {
+        return store.get(key(gameId)).map(entry -> BoardSnapshotCodec.decode(entry.value()));
+    }
+
+    @Override
+    public boolean create(final long gameId, final BoardSnapshot snapshot) {
+        return store.putIfAbsent(key(gameId), snapshot.getVersion(), BoardSnapshotCodec.encode(snapshot));
+    }
+
+    @Override
+    public boolean replace(final long gameId, final BoardSnapshot expected, final BoardSnapshot next) {
+        return store.putIfVersion(key(gameId), expected.getVersion(), next.getVersion(), BoardSnapshotCodec.encode(next));
+    }
+
+    private static String key(final long gameId) {
+        return KEY_PREFIX + gameId;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.rules;
+
+import lombok.Getter;
+
+/**
+ * Represents a rule set the game can be played with.
+ * <p>
+ * The rules only differ in where the stones are sown and when stones are captured. They are turned into
+ * lookup tables once per board size, see {@link SowingTables}.
+ */
+@Getter
+public enum RuleVariant {
+    /**
+     * Stones are sown into every pit, including the opponent's store, and never captured.
+     */
+    CLASSIC(true, false, false),
+
+    /**
+     * The opponent's store is skipped while sowing. Stones are never captured.
+     */
+    SKIP_OPPONENT_STORE(false, false, false),
+
+    /**
+     * Kalah: the opponent's store is skipped, and a last stone dropped into an empty own pit captures itself
+     * and the stones of the opposite pit, if there are any.
+     */
+    KALAH(false, true, false),
+
+    /**
+     * Like {@link #KALAH}, but the last stone is also moved to the store when the opposite pit is empty.
+     */
+    EMPTY_CAPTURE(false, true, true);
+
+    /**
+     * Whether the stones are sown into the opponent's store.
+     */
+    private final boolean sowingIntoOpponentStore;
+    /**
+     * Whether a last stone dropped into an empty own pit captures.
+     */
+    private final boolean capturing;
+    /**
+     * Whether the capture also happens when the opposite pit is empty.
+     */
+    private final boolean capturingFromEmptyPit;
+
+    RuleVariant(final boolean sowingIntoOpponentStore, final boolean capturing, final boolean capturingFromEmptyPit) {
+        this.sowingIntoOpponentStore = sowingIntoOpponentStore;
+        this.capturing = capturing;
+        this.capturingFromEmptyPit = capturingFromEmptyPit;
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.rules;
+
+import lombok.Getter;
+import org.example.model.Board;
+import org.example.model.Player;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the precomputed lookup tables of a board size and rule variant.
+ * <p>
+ * The tables are immutable and shared by all boards with the same configuration, so a move only has to look
+ * up where the next stone goes, whose pit it lands in and what lies opposite, without deciding anything
+ * about the rules. The stones per pit do not change any table, so they are not part of the configuration.
+ * <p>
+ * Pits are indexed like on the {@link Board}: the pits of player one, the store of player one, the pits of
+ * player two and the store of player two.
+ */
+public final class SowingTables {
+    /**
+     * The capture threshold of variants that never capture.
+     */
+    public static final int NO_CAPTURE = Integer.MAX_VALUE;
+    /**
+     * The opposite pit of a store, which has none.
+     */
+    public static final int NO_PIT = -1;
+    private static final int NO_OWNER = -1;
+    private static final Map<Key, SowingTables> CACHE = new ConcurrentHashMap<>();
+
+    @Getter
+    private final int numberOfPitsPerPlayer;
+    @Getter
+    private final RuleVariant variant;
+    @Getter
+    private final int pitCount;
+    /**
+     * The smallest number of stones in the opposite pit for which a capture happens, or {@link #NO_CAPTURE}.
+     */
+    @Getter
+    private final int captureThreshold;
+    /**
+     * The pit after each pit when sowing, one row of {@link #pitCount} entries per player.
+     */
+    private final int[] nextPits;
+    private final int[] oppositePits;
+    private final int[] owners;
+    private final int[] stores;
+    private final int[] firstPits;
+
+    private SowingTables(final int numberOfPitsPerPlayer, final RuleVariant variant) {
+        this.numberOfPitsPerPlayer = numberOfPitsPerPlayer;
+        this.variant = variant;
+        this.pitCount = numberOfPitsPerPlayer * Board.PLAYER_COUNT + 2;
+        this.captureThreshold = !variant.isCapturing() ? NO_CAPTURE : variant.isCapturingFromEmptyPit() ? 0 : 1;
+        this.nextPits = new int[Board.PLAYER_COUNT * pitCount];
+        this.oppositePits = new int[pitCount];
+        this.owners = new int[pitCount];
+        this.stores = new int[Board.PLAYER_COUNT];
+        this.firstPits = new int[Board.PLAYER_COUNT];
+
+        for (final Player player : Player.values()) {
+            firstPits[player.ordinal()] = player.isPlayerOne() ? 0 : numberOfPitsPerPlayer + 1;
+            stores[player.ordinal()] = firstPits[player.ordinal()] + numberOfPitsPerPlayer;
+        }
+
+        for (int pit = 0; pit < pitCount; pit++) {
+            final boolean store = pit == stores[Player.ONE.ordinal()] || pit == stores[Player.TWO.ordinal()];
+
+            owners[pit] = store ? NO_OWNER : pit < numberOfPitsPerPlayer ? Player.ONE.ordinal() : Player.TWO.ordinal();
+            oppositePits[pit] = store ? NO_PIT : 2 * numberOfPitsPerPlayer - pit;
+        }
+
+        for (final Player player : Player.values()) {
+            final int opponentStore = stores[player.nextPlayer().ordinal()];
+
+            for (int pit = 0; pit < pitCount; pit++) {
+                int next = (pit + 1) % pitCount;
+
+                if (next == opponentStore && !variant.isSowingIntoOpponentStore()) {
+                    next = (next + 1) % pitCount;
+                }
+
+                nextPits[player.ordinal() * pitCount + pit] = next;
+            }
+        }
+    }
+
+    /**
+     * Gets the tables of the configuration, computing them on first use.
+     *
+     * @param numberOfPitsPerPlayer the number of pits per player
+     * @param variant               the rule variant
+     * @return the shared tables
+     * @throws IllegalArgumentException if the number of pits per player is not positive
+     */
+    public static SowingTables of(final int numberOfPitsPerPlayer, final RuleVariant variant) {
+        if (numberOfPitsPerPlayer <= 0) {
+            throw new IllegalArgumentException("A board needs at least one pit per player but got %d."
+                    .formatted(numberOfPitsPerPlayer));
+        }
+
+        return CACHE.computeIfAbsent(new Key(numberOfPitsPerPlayer, variant),
+                key -> new SowingTables(key.numberOfPitsPerPlayer(), key.variant()));
+    }
+
+    /**
+     * Gets the pit the next stone is dropped into when the player sows.
+     *
+     * @param player the player sowing
+     * @param pit    the pit the previous stone was dropped into
+     * @return the index of the next pit
+     */
+    public int getNextPit(final Player player, final int pit) {
+        return nextPits[player.ordinal() * pitCount + pit];
+    }
+
+    /**
+     * Gets the pit opposite the given pit.
+     *
+     * @param pit the index of the pit
+     * @return the index of the opposite pit, or {@link #NO_PIT} for a store
+     */
+    public int getOppositePit(final int pit) {
+        return oppositePits[pit];
+    }
+
+    /**
+     * Checks if the pit is one of the player's pits. Stores belong to nobody.
+     *
+     * @param player the player
+     * @param pit    the index of the pit
+     * @return true if the pit belongs to the player, false otherwise
+     */
+    public boolean isPlayersPit(final Player player, final int pit) {
+        return owners[pit] == player.ordinal();
+    }
+
+    /**
+     * Gets the index of the player's store.
+     *
+     * @param player the player
+     * @return the index of the store
+     */
+    public int getStoreIndex(final Player player) {
+        return stores[player.ordinal()];
+    }
+
+    /**
+     * Gets the index of the player's first pit.
+     *
+     * @param player the player
+     * @return the index of the first pit
+     */
+    public int getFirstPit(final Player player) {
+        return firstPits[player.ordinal()];
+    }
+
+    /**
+     * Gets the number of pits a stone passes on one lap around the board, which is one less than the number
+     * of pits if the opponent's store is skipped.
+     *
+     * @return the length of a lap
+     */
+    public int getLapLength() {
+        return variant.isSowingIntoOpponentStore() ? pitCount : pitCount - 1;
+    }
+
+    /**
+     * Identifies a configuration in the cache.
+     */
+    private record Key(int numberOfPitsPerPlayer, RuleVariant variant) {
+    }
+}
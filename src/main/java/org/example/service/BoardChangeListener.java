@@ -0,0 +1,28 @@
+package org.example.service;
+
+import org.example.model.BoardSnapshot;
+import org.example.model.BoardState;
+
+/**
+ * Gets notified by the {@link GameService} whenever the board changes.
+ * <p>
+ * Listeners are called on the thread that changed the board, so they must return quickly.
+ */
+public interface BoardChangeListener {
+    /**
+     * Called after a move was made or the game was reset.
+     *
+     * @param state the new state of the board
+     */
+    void onBoardChanged(BoardState state);
+
+    /**
+     * Called after a move was made on this node, right after {@link #onBoardChanged(BoardState)}.
+     *
+     * @param gameId   the id of the game
+     * @param previous the snapshot the move was made on
+     * @param next     the snapshot created by the move
+     */
+    default void onMoveMade(final long gameId, final BoardSnapshot previous, final BoardSnapshot next) {
+    }
+}
@@ -1,81 +1,390 @@
 package org.example.service;
 
-import lombok.Getter;
+import org.example.exception.GameNotFoundException;
+import org.example.history.GameHistoryStore;
+import org.example.history.HistoryView;
 import org.example.model.Board;
+import org.example.model.BoardSnapshot;
+import org.example.model.BoardState;
 import org.example.model.Move;
 import org.example.model.Winner;
+import org.example.repository.GameRepository;
+import org.example.rules.RuleVariant;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Plays the games stored in the {@link GameRepository}.
+ * <p>
+ * Every game is an immutable {@link BoardSnapshot} that is replaced with a version check on every change.
+ * Readers never block and never see a half-made move. A move is applied to a private copy of the snapshot
+ * and only stored if no other change happened in the meantime, on this node or any other.
+ * <p>
+ * The moves made on this node are also recorded in a {@link GameHistoryStore}, so they can be undone and redone.
+ */
 @Service
 public class GameService {
 
-    @Getter
-    private Board board;
+    /**
+     * The id of the game that is played when a request does not name one.
+     */
+    public static final long DEFAULT_GAME_ID = 0;
+
+    /**
+     * The upper bound of the random game ids. Ids below 2^53 survive the round trip through JSON numbers
+     * in JavaScript clients without losing precision.
+     */
+    public static final long MAX_GAME_ID = 1L << 53;
+
+    private final GameRepository repository;
     private final Random random = new Random();
+    private final List<BoardChangeListener> listeners;
+    private final GameHistoryStore histories;
+
+    /**
+     * Creates a new game service with the default history limits and the default game, if it does not exist yet.
+     *
+     * @param repository the repository holding the games
+     * @param listeners  the listeners to notify when a board changes
+     */
+    public GameService(final GameRepository repository, final List<BoardChangeListener> listeners) {
+        this(repository, listeners, GameHistoryStore.withDefaults());
+    }
 
     /**
-     * Creates a new game service with a new board.
+     * Creates a new game service and the default game, if it does not exist yet.
+     *
+     * @param repository the repository holding the games
+     * @param listeners  the listeners to notify when a board changes
+     * @param histories  the histories of the games, used to undo and redo moves
      */
-    public GameService() {
-        this.board = new Board();
+    @Autowired
+    public GameService(final GameRepository repository, final List<BoardChangeListener> listeners,
+                       final GameHistoryStore histories) {
+        this.repository = repository;
+        this.listeners = List.copyOf(listeners);
+        this.histories = histories;
+
+        final BoardSnapshot defaultGame = BoardSnapshot.of(new Board(), 0);
+
+        if (repository.create(DEFAULT_GAME_ID, defaultGame)) {
+            histories.start(DEFAULT_GAME_ID, defaultGame);
+        }
+    }
+
+    /**
+     * Creates a new game with a random id, played with the {@link RuleVariant#CLASSIC} rules.
+     *
+     * @return the id of the new game
+     */
+    public long createGame() {
+        return createGame(RuleVariant.CLASSIC);
+    }
+
+    /**
+     * Creates a new game with a random id below {@link #MAX_GAME_ID}.
+     *
+     * @param variant the rules of the game
+     * @return the id of the new game
+     */
+    public long createGame(final RuleVariant variant) {
+        final BoardSnapshot snapshot = BoardSnapshot.of(new Board(variant), 0);
+        long gameId;
+
+        do {
+            gameId = ThreadLocalRandom.current().nextLong(1, MAX_GAME_ID);
+        } while (!repository.create(gameId, snapshot));
+
+        histories.start(gameId, snapshot);
+        return gameId;
+    }
+
+    /**
+     * Gets the current snapshot of the board.
+     *
+     * @param gameId the id of the game
+     * @return the snapshot
+     * @throws GameNotFoundException if the game does not exist
+     */
+    public BoardSnapshot getSnapshot(final long gameId) {
+        return repository.find(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
+    }
+
+    /**
+     * Gets a mutable copy of the current board. Changing it does not affect the game.
+     *
+     * @param gameId the id of the game
+     * @return the board
+     * @throws GameNotFoundException if the game does not exist
+     */
+    public Board getBoard(final long gameId) {
+        return getSnapshot(gameId).toBoard();
+    }
+
+    /**
+     * Gets the version of the board, increased on every change.
+     *
+     * @param gameId the id of the game
+     * @return the version
+     * @throws GameNotFoundException if the game does not exist
+     */
+    public long getVersion(final long gameId) {
+        return getSnapshot(gameId).getVersion();
     }
 
     /**
      * Gets the random pit index.
      *
+     * @param gameId the id of the game
      * @return the random pit index
+     * @throws GameNotFoundException if the game does not exist
      */
-    public int getRandomPitIndex() {
-        return random.nextInt(0, board.getPits().length);
+    public int getRandomPitIndex(final long gameId) {
+        return random.nextInt(0, getSnapshot(gameId).getPitCount());
     }
 
     /**
-     * Makes a move in the game.
+     * Makes a move in the game on whatever the current version of the board is.
      *
-     * @param pit the index of the pit to move the stones from
-     * @return the list of moves made
+     * @param gameId the id of the game
+     * @param pit    the index of the pit to move the stones from
+     * @return the moves made together with the board they led to
+     * @throws org.example.exception.GameLogicException if the move is invalid
+     * @throws GameNotFoundException                    if the game does not exist
      */
-    public List<Move> makeMove(final int pit) {
-        return board.moveStones(pit);
+    public MoveResult.Applied makeMove(final long gameId, final int pit) {
+        while (true) {
+            if (makeMove(gameId, pit, getVersion(gameId)) instanceof MoveResult.Applied applied && !applied.replayed()) {
+                return applied;
+            }
+        }
+    }
+
+    /**
+     * Makes a move in the game if the board still has the expected version.
+     * <p>
+     * A request that repeats the move which created the current version is answered with that move
+     * instead of a conflict, so retried requests are idempotent.
+     *
+     * @param gameId          the id of the game
+     * @param pit             the index of the pit to move the stones from
+     * @param expectedVersion the version of the board the move was chosen on
+     * @return the applied move, or a conflict with the current snapshot
+     * @throws org.example.exception.GameLogicException if the move is invalid on the expected version
+     * @throws GameNotFoundException                    if the game does not exist
+     */
+    public MoveResult makeMove(final long gameId, final int pit, final long expectedVersion) {
+        BoardSnapshot current = getSnapshot(gameId);
+        boolean fresh = false;
+
+        while (true) {
+            if (current.getVersion() != expectedVersion && !fresh) {
+                // The snapshot may come from a cache that is behind the other nodes, so decide on the stored one.
+                current = repository.refresh(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
+                fresh = true;
+            }
+
+            if (current.getVersion() != expectedVersion) {
+                return current.isResultOf(expectedVersion, pit)
+                        ? new MoveResult.Applied(current, current.getLastMoves(), true)
+                        : new MoveResult.Conflict(current);
+            }
+
+            final Board board = current.toBoard();
+            final List<Move> moves = board.moveStones(pit);
+            final BoardSnapshot next = current.next(board, pit, moves);
+
+            final BoardSnapshot previous = current;
+            final boolean stored = histories.recordMove(gameId, previous, next, board,
+                    snapshot -> repository.replace(gameId, previous, snapshot));
+
+            if (stored) {
+                notifyListeners(gameId, next);
+                notifyMoveListeners(gameId, current, next);
+                return new MoveResult.Applied(next, next.getLastMoves(), false);
+            }
+
+            current = repository.refresh(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
+            fresh = true;
+        }
     }
 
     /**
      * Checks if the game is over.
      *
+     * @param gameId the id of the game
      * @return true if the game is over, false otherwise
+     * @throws GameNotFoundException if the game does not exist
      */
-    public boolean isGameOver() {
-        return board.isGameOver();
+    public boolean isGameOver(final long gameId) {
+        return getSnapshot(gameId).isGameOver();
     }
 
     /**
      * Determines the winner of the game.
      *
+     * @param gameId the id of the game
      * @return the winner
+     * @throws org.example.exception.GameLogicException if the game is not over
+     * @throws GameNotFoundException                    if the game does not exist
      */
-    public Winner determineWinner() {
-        return board.determineWinner();
+    public Winner determineWinner(final long gameId) {
+        return getBoard(gameId).determineWinner();
     }
 
     /**
      * Gets the winner string.
      *
+     * @param gameId the id of the game
      * @return the human-readable winner string.
+     * @throws GameNotFoundException if the game does not exist
      */
-    public String getWinnerString() {
-        return switch (determineWinner()) {
-            case Winner.PlayerWinner winner -> winner + " wins!";
-            case Winner.Tie ignored -> "It's a tie!";
-        };
+    public String getWinnerString(final long gameId) {
+        return toWinnerString(determineWinner(gameId));
+    }
+
+    /**
+     * Gets the current state of the board.
+     *
+     * @param gameId the id of the game
+     * @return the immutable state of the board
+     * @throws GameNotFoundException if the game does not exist
+     */
+    public BoardState getBoardState(final long gameId) {
+        return toBoardState(gameId, getSnapshot(gameId));
+    }
+
+    /**
+     * Resets the game. The new game keeps the size and rules of the old one.
+     *
+     * @param gameId the id of the game
+     * @throws GameNotFoundException if the game does not exist
+     */
+    public void resetGame(final long gameId) {
+        BoardSnapshot current = getSnapshot(gameId);
+        BoardSnapshot next = BoardSnapshot.of(newBoardLike(current), current.getVersion() + 1);
+
+        while (!repository.replace(gameId, current, next)) {
+            current = repository.refresh(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
+            next = BoardSnapshot.of(newBoardLike(current), current.getVersion() + 1);
+        }
+
+        histories.start(gameId, next);
+        notifyListeners(gameId, next);
+    }
+
+    /**
+     * Takes back the last move made on this node.
+     *
+     * @param gameId the id of the game
+     * @return the snapshot of the board before the move, with a new version
+     * @throws org.example.exception.HistoryUnavailableException if there is no move to take back
+     * @throws GameNotFoundException                             if the game does not exist
+     */
+    public BoardSnapshot undo(final long gameId) {
+        return travel(gameId, -1);
+    }
+
+    /**
+     * Makes the last move taken back again.
+     *
+     * @param gameId the id of the game
+     * @return the snapshot of the board after the move, with a new version
+     * @throws org.example.exception.HistoryUnavailableException if there is no move to make again
+     * @throws GameNotFoundException                             if the game does not exist
+     */
+    public BoardSnapshot redo(final long gameId) {
+        return travel(gameId, 1);
+    }
+
+    /**
+     * Gets the history of the game with the board at the given ply.
+     *
+     * @param gameId the id of the game
+     * @param ply    the ply to show, or null for the current ply
+     * @return the history
+     * @throws org.example.exception.HistoryUnavailableException if the game has no history or the ply is not in it
+     * @throws GameNotFoundException                             if the game does not exist
+     */
+    public HistoryView getHistory(final long gameId, final Integer ply) {
+        getSnapshot(gameId);
+        return histories.view(gameId, ply);
+    }
+
+    /**
+     * Replaces the board with the one a number of plies away in its history.
+     *
+     * @param gameId the id of the game
+     * @param plies  the number of plies to move, negative to go back
+     * @return the new snapshot
+     */
+    private BoardSnapshot travel(final long gameId, final int plies) {
+        while (true) {
+            // Decide on the stored snapshot, since the history follows the versions that were actually stored.
+            final BoardSnapshot current = repository.refresh(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
+            final Optional<BoardSnapshot> travelled =
+                    histories.travel(gameId, current, plies, next -> repository.replace(gameId, current, next));
+
+            if (travelled.isPresent()) {
+                notifyListeners(gameId, travelled.get());
+                return travelled.get();
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners about a new snapshot of the board.
+     *
+     * @param gameId  the id of the game
+     * @param changed the new snapshot
+     */
+    private void notifyListeners(final long gameId, final BoardSnapshot changed) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        final BoardState state = toBoardState(gameId, changed);
+        listeners.forEach(listener -> listener.onBoardChanged(state));
     }
 
     /**
-     * Resets the game.
+     * Notifies the listeners about a move that created a new snapshot of the board.
+     *
+     * @param gameId   the id of the game
+     * @param previous the snapshot the move was made on
+     * @param next     the snapshot created by the move
      */
-    public void resetGame() {
-        this.board = new Board();
+    private void notifyMoveListeners(final long gameId, final BoardSnapshot previous, final BoardSnapshot next) {
+        for (final BoardChangeListener listener : listeners) {
+            listener.onMoveMade(gameId, previous, next);
+        }
+    }
+
+    private static Board newBoardLike(final BoardSnapshot snapshot) {
+        return new Board(snapshot.getNumberOfPitsPerPlayer(), snapshot.getStonesPerPit(), snapshot.getVariant());
+    }
+
+    /**
+     * Creates the client-facing view of a snapshot.
+     *
+     * @param gameId   the id of the game
+     * @param snapshot the snapshot of the board
+     * @return the immutable state of the board
+     */
+    public static BoardState toBoardState(final long gameId, final BoardSnapshot snapshot) {
+        return new BoardState(gameId, snapshot.getVersion(), snapshot.getPits(), snapshot.getCurrentPlayer().toString(),
+                snapshot.isGameOver() ? toWinnerString(snapshot.getWinner()) : null);
+    }
+
+    private static String toWinnerString(final Winner winner) {
+        return switch (winner) {
+            case Winner.PlayerWinner playerWinner -> playerWinner + " wins!";
+            case Winner.Tie ignored -> "It's a tie!";
+        };
     }
 }
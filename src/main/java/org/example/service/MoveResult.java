@@ -0,0 +1,24 @@
+package org.example.service;
+
+import org.example.model.BoardSnapshot;
+import org.example.model.Move;
+
+import java.util.List;
+
+/**
+ * Represents the result of a move made against an expected version of the board.
+ */
+public sealed interface MoveResult permits MoveResult.Applied, MoveResult.Conflict {
+    /**
+     * Gets the snapshot of the board after the request.
+     *
+     * @return the snapshot
+     */
+    BoardSnapshot snapshot();
+
+    // The move was made, or it had already been made by an identical earlier request.
+    record Applied(BoardSnapshot snapshot, List<Move> moves, boolean replayed) implements MoveResult {}
+
+    // The board has changed since the expected version, so the move was not made.
+    record Conflict(BoardSnapshot snapshot) implements MoveResult {}
+}
@@ -0,0 +1,40 @@
+package org.example.spectator;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Represents one board state, serialized once and shared by all spectators.
+ */
+public final class SpectatorFrame {
+    /**
+     * The version of the board the frame was serialized from.
+     */
+    @Getter
+    private final long version;
+    private final byte[] payload;
+
+    SpectatorFrame(final long version, final byte[] payload) {
+        this.version = version;
+        this.payload = payload;
+    }
+
+    /**
+     * Gets a read-only view of the serialized board state.
+     *
+     * @return the read-only payload
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        return ByteBuffer.wrap(payload).asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets the shared payload without copying. It must never be modified.
+     *
+     * @return the payload
+     */
+    byte[] payload() {
+        return payload;
+    }
+}
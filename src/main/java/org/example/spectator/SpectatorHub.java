@@ -0,0 +1,190 @@
+package org.example.spectator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.example.model.BoardState;
+import org.example.service.BoardChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Broadcasts the boards of the games to their spectators.
+ * <p>
+ * Every state change is serialized to JSON exactly once. The resulting frame is shared by all
+ * subscriptions, which send it on virtual threads so slow spectators never hold up the moves.
+ */
+@Service
+public class SpectatorHub implements BoardChangeListener {
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxCompactions;
+    private final long timeoutMillis;
+    private final Map<Long, Set<SpectatorSubscription>> subscriptionsByGame = new ConcurrentHashMap<>();
+    private final ExecutorService fanOutExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("spectator-fan-out").daemon().factory());
+    private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * Creates a new SpectatorHub.
+     *
+     * @param objectMapper   the mapper used to serialize the board state
+     * @param bufferSize     the number of frames buffered per spectator
+     * @param maxCompactions the number of times a spectator may overflow its buffer before being dropped
+     * @param timeoutMillis  the time after which a spectator connection is closed
+     */
+    public SpectatorHub(final ObjectMapper objectMapper,
+                        @Value("${mancala.spectators.buffer-size:16}") final int bufferSize,
+                        @Value("${mancala.spectators.max-compactions:3}") final int maxCompactions,
+                        @Value("${mancala.spectators.timeout-millis:1800000}") final long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxCompactions = maxCompactions;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Subscribes a new spectator of the game through server-sent events.
+     *
+     * @param gameId       the id of the game
+     * @param currentState reads the current state of the board, sent to the spectator first
+     * @return the emitter of the spectator
+     */
+    public SseEmitter subscribe(final long gameId, final Supplier<BoardState> currentState) {
+        final SseEmitter emitter = new SseEmitter(timeoutMillis);
+
+        final SpectatorSubscription subscription = subscribe(new SpectatorSink() {
+            @Override
+            public void send(final SpectatorFrame frame) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(frame.getVersion()))
+                        .data(frame.payload(), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        }, gameId, currentState);
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+
+        return emitter;
+    }
+
+    /**
+     * Subscribes a new spectator of the game through the given sink.
+     *
+     * <p>
+     * The current state is read only after the subscription is registered, so no move made in between
+     * is missed. Frames broadcast concurrently may arrive in any order, and the subscription ignores the
+     * ones older than what it already queued.
+     *
+     * @param sink         the connection to the spectator
+     * @param gameId       the id of the game
+     * @param currentState reads the current state of the board, sent to the spectator first
+     * @return the subscription
+     * @throws RuntimeException anything thrown while reading the current state, after the subscription is closed
+     */
+    public SpectatorSubscription subscribe(final SpectatorSink sink, final long gameId,
+                                           final Supplier<BoardState> currentState) {
+        final SpectatorSubscription subscription = new SpectatorSubscription(sink, deliveryExecutor, bufferSize,
+                maxCompactions, closed -> unsubscribe(gameId, closed));
+
+        subscriptionsByGame.compute(gameId, (id, subscriptions) -> {
+            final Set<SpectatorSubscription> gameSubscriptions =
+                    subscriptions == null ? ConcurrentHashMap.newKeySet() : subscriptions;
+            gameSubscriptions.add(subscription);
+            return gameSubscriptions;
+        });
+
+        try {
+            subscription.offer(serialize(currentState.get()));
+        } catch (RuntimeException e) {
+            // E.g. the game does not exist, so nobody would ever close the subscription.
+            subscription.close();
+            throw e;
+        }
+
+        return subscription;
+    }
+
+    @Override
+    public void onBoardChanged(final BoardState state) {
+        final Set<SpectatorSubscription> subscriptions = subscriptionsByGame.get(state.gameId());
+
+        // Games nobody watches are never serialized.
+        if (subscriptions != null) {
+            final SpectatorFrame frame = serialize(state);
+            fanOutExecutor.execute(() -> fanOut(subscriptions, frame));
+        }
+    }
+
+    /**
+     * Gets the number of connected spectators of all games.
+     *
+     * @return the number of spectators
+     */
+    public int getSubscriberCount() {
+        return subscriptionsByGame.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Gets the number of spectators dropped for being too slow.
+     *
+     * @return the number of dropped spectators
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Stops broadcasting and disconnects all spectators.
+     */
+    @PreDestroy
+    public void close() {
+        fanOutExecutor.shutdownNow();
+        subscriptionsByGame.values().forEach(subscriptions -> subscriptions.forEach(SpectatorSubscription::close));
+        deliveryExecutor.shutdownNow();
+    }
+
+    private void unsubscribe(final long gameId, final SpectatorSubscription subscription) {
+        subscriptionsByGame.computeIfPresent(gameId, (id, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    private void fanOut(final Set<SpectatorSubscription> subscriptions, final SpectatorFrame frame) {
+        for (final SpectatorSubscription subscription : subscriptions) {
+            if (!subscription.offer(frame)) {
+                droppedCount.incrementAndGet();
+                subscription.close();
+            }
+        }
+    }
+
+    private SpectatorFrame serialize(final BoardState state) {
+        try {
+            return new SpectatorFrame(state.version(), objectMapper.writeValueAsBytes(state));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.spectator;
+
+import java.io.IOException;
+
+/**
+ * Represents the connection a spectator receives the frames through.
+ */
+public interface SpectatorSink {
+    /**
+     * Sends the frame to the spectator. May block while the spectator is slow.
+     *
+     * @param frame the frame to send
+     * @throws IOException if the spectator can no longer be reached
+     */
+    void send(SpectatorFrame frame) throws IOException;
+
+    /**
+     * Closes the connection to the spectator.
+     */
+    void close();
+}
@@ -0,0 +1,113 @@
+package org.example.spectator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Represents a single spectator with a bounded buffer of frames waiting to be sent.
+ * <p>
+ * Every frame carries the complete board state, so when a slow spectator fills its buffer the queued
+ * frames are dropped and only the latest one is kept. A spectator whose buffer had to be compacted
+ * too many times without catching up is disconnected.
+ */
+public final class SpectatorSubscription {
+    private final SpectatorSink sink;
+    private final Executor deliveryExecutor;
+    private final int bufferSize;
+    private final int maxCompactions;
+    private final Consumer<SpectatorSubscription> onClose;
+    private final ArrayDeque<SpectatorFrame> pending = new ArrayDeque<>();
+
+    private long lastOfferedVersion = -1;
+    private int compactions;
+    private boolean draining;
+    private boolean closed;
+
+    SpectatorSubscription(final SpectatorSink sink, final Executor deliveryExecutor, final int bufferSize,
+                          final int maxCompactions, final Consumer<SpectatorSubscription> onClose) {
+        this.sink = sink;
+        this.deliveryExecutor = deliveryExecutor;
+        this.bufferSize = bufferSize;
+        this.maxCompactions = maxCompactions;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Queues the frame for delivery. Frames older than the last queued one are ignored.
+     *
+     * @param frame the frame to queue
+     * @return false if the spectator is too slow and must be dropped, true otherwise
+     */
+    synchronized boolean offer(final SpectatorFrame frame) {
+        if (closed) {
+            return false;
+        } else if (frame.getVersion() <= lastOfferedVersion) {
+            return true;
+        }
+
+        lastOfferedVersion = frame.getVersion();
+
+        if (pending.size() == bufferSize) {
+            pending.clear();
+
+            if (++compactions > maxCompactions) {
+                return false;
+            }
+        }
+
+        pending.add(frame);
+
+        if (!draining) {
+            draining = true;
+            deliveryExecutor.execute(this::drain);
+        }
+
+        return true;
+    }
+
+    /**
+     * Closes the subscription and the connection to the spectator.
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            pending.clear();
+        }
+
+        sink.close();
+        onClose.accept(this);
+    }
+
+    /**
+     * Sends the queued frames until the buffer is empty.
+     */
+    private void drain() {
+        while (true) {
+            final SpectatorFrame frame;
+
+            synchronized (this) {
+                frame = pending.poll();
+
+                if (frame == null || closed) {
+                    // The spectator caught up, so earlier compactions no longer count against it.
+                    compactions = 0;
+                    draining = false;
+                    return;
+                }
+            }
+
+            try {
+                sink.send(frame);
+            } catch (IOException | RuntimeException e) {
+                close();
+                return;
+            }
+        }
+    }
+}
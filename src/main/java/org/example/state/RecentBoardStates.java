@@ -0,0 +1,124 @@
+package org.example.state;
+
+import org.example.model.BoardState;
+import org.example.service.BoardChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the last few states of every game, so clients can ask for the changes since a version they know.
+ * <p>
+ * Each game has a small ring of states indexed by version. It is fed by the board changes of this node and by
+ * the states served to clients, so a version a client was just given can be found again. Older versions,
+ * versions created on other nodes and games beyond the configured number are forgotten; asking for them
+ * yields nothing and the client gets the full state instead.
+ */
+@Service
+public class RecentBoardStates implements BoardChangeListener {
+
+    private final int historySize;
+    private final int maxGames;
+    private final Map<Long, Ring> ringsByGame = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new RecentBoardStates.
+     *
+     * @param historySize the number of versions remembered per game
+     * @param maxGames    the number of games remembered
+     */
+    public RecentBoardStates(@Value("${mancala.state.history-size:8}") final int historySize,
+                             @Value("${mancala.state.max-games:100000}") final int maxGames) {
+        this.historySize = historySize;
+        this.maxGames = maxGames;
+    }
+
+    @Override
+    public void onBoardChanged(final BoardState state) {
+        remember(state);
+    }
+
+    /**
+     * Remembers the state of a game.
+     *
+     * @param state the state
+     */
+    public void remember(final BoardState state) {
+        Ring ring = ringsByGame.get(state.gameId());
+
+        if (ring == null) {
+            evictIfFull();
+            ring = ringsByGame.computeIfAbsent(state.gameId(), id -> new Ring(historySize));
+        }
+
+        ring.put(state);
+    }
+
+    /**
+     * Finds a remembered state of a game.
+     *
+     * @param gameId  the id of the game
+     * @param version the version of the board
+     * @return the state, or empty if the version is not remembered
+     */
+    public Optional<BoardState> find(final long gameId, final long version) {
+        final Ring ring = ringsByGame.get(gameId);
+        return ring == null ? Optional.empty() : Optional.ofNullable(ring.get(version));
+    }
+
+    /**
+     * Gets the number of games with remembered states.
+     *
+     * @return the number of games
+     */
+    public int getGameCount() {
+        return ringsByGame.size();
+    }
+
+    /**
+     * Forgets an arbitrary game if the limit is reached. Only deltas of that game get more expensive.
+     */
+    private void evictIfFull() {
+        if (ringsByGame.size() < maxGames) {
+            return;
+        }
+
+        final Iterator<Long> gameIds = ringsByGame.keySet().iterator();
+
+        if (gameIds.hasNext()) {
+            ringsByGame.remove(gameIds.next());
+        }
+    }
+
+    /**
+     * Holds the states of one game in slots indexed by version.
+     */
+    private static final class Ring {
+        private final BoardState[] states;
+
+        private Ring(final int size) {
+            this.states = new BoardState[size];
+        }
+
+        private synchronized void put(final BoardState state) {
+            final int slot = slot(state.version());
+
+            if (states[slot] == null || states[slot].version() <= state.version()) {
+                states[slot] = state;
+            }
+        }
+
+        private synchronized BoardState get(final long version) {
+            final BoardState state = states[slot(version)];
+            return state != null && state.version() == version ? state : null;
+        }
+
+        private int slot(final long version) {
+            return (int) Math.floorMod(version, (long) states.length);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package org.example.storage;
+
+import lombok.Getter;
+import org.example.model.Board;
+import org.example.model.Player;
+import org.example.rules.RuleVariant;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Stores idle boards outside the Java heap.
+ * <p>
+ * Each board is packed into a fixed-size slot of a slab, so millions of idle games cost a few bytes each
+ * and are invisible to the garbage collector. Only games that are being played need to be inflated back
+ * into {@link Board} objects with {@link #load(int)}.
+ * <p>
+ * A slot consists of one state byte (free, or the current player and rule variant of the board packed into
+ * a number starting at one) followed by the stones of every pit, stores included. Pits take one, two or four
+ * bytes depending on the total number of stones of the configuration.
+ * <p>
+ * Allocating and freeing slots is thread-safe. A single handle must not be used by several threads at once.
+ */
+public class OffHeapBoardStore implements AutoCloseable {
+    private static final int SLAB_SHIFT = 16;
+    private static final int SLOTS_PER_SLAB = 1 << SLAB_SHIFT;
+    private static final int SLOT_MASK = SLOTS_PER_SLAB - 1;
+    private static final byte FREE_SLOT = 0;
+
+    @Getter
+    private final int numberOfPitsPerPlayer;
+    @Getter
+    private final int stonesPerPit;
+    /**
+     * The number of bytes used by a single board.
+     */
+    @Getter
+    private final int slotSize;
+    private final int pitCount;
+    private final int pitWidth;
+    private final SlabAllocator allocator;
+
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+    private int nextUnusedSlot;
+    private int size;
+
+    private OffHeapBoardStore(final int numberOfPitsPerPlayer, final int stonesPerPit, final SlabAllocator allocator) {
+        final int totalStones = numberOfPitsPerPlayer * Board.PLAYER_COUNT * stonesPerPit;
+
+        this.numberOfPitsPerPlayer = numberOfPitsPerPlayer;
+        this.stonesPerPit = stonesPerPit;
+        this.pitCount = numberOfPitsPerPlayer * Board.PLAYER_COUNT + 2;
+        this.pitWidth = totalStones <= 0xFF ? Byte.BYTES : totalStones <= 0xFFFF ? Character.BYTES : Integer.BYTES;
+        this.slotSize = 1 + pitCount * pitWidth;
+        this.allocator = allocator;
+    }
+
+    /**
+     * Creates a store backed by direct memory.
+     *
+     * @param numberOfPitsPerPlayer the number of pits per player of the stored boards
+     * @param stonesPerPit          the number of stones per pit of the stored boards
+     * @return the store
+     */
+    public static OffHeapBoardStore direct(final int numberOfPitsPerPlayer, final int stonesPerPit) {
+        return new OffHeapBoardStore(numberOfPitsPerPlayer, stonesPerPit, new SlabAllocator() {
+            @Override
+            public ByteBuffer allocate(final int slabIndex, final int bytes) {
+                return ByteBuffer.allocateDirect(bytes);
+            }
+
+            @Override
+            public void close() {
+                // Direct buffers are released by the garbage collector.
+            }
+        });
+    }
+
+    /**
+     * Creates a store backed by a memory-mapped file.
+     * <p>
+     * The file grows one slab at a time. It is only used as backing memory, so previous contents are discarded.
+     *
+     * @param numberOfPitsPerPlayer the number of pits per player of the stored boards
+     * @param stonesPerPit          the number of stones per pit of the stored boards
+     * @param file                  the file to map, created if missing
+     * @return the store
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public static OffHeapBoardStore mapped(final int numberOfPitsPerPlayer, final int stonesPerPit, final Path file) {
+        final FileChannel channel;
+
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new OffHeapBoardStore(numberOfPitsPerPlayer, stonesPerPit, new SlabAllocator() {
+            @Override
+            public ByteBuffer allocate(final int slabIndex, final int bytes) throws IOException {
+                final ByteBuffer slab = channel.map(FileChannel.MapMode.READ_WRITE, (long) slabIndex * bytes, bytes);
+                // A reused file may contain stale slots, so start from a clean slab.
+                slab.put(0, new byte[bytes]);
+                return slab;
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        });
+    }
+
+    /**
+     * Stores the board in a free slot.
+     *
+     * @param board the board to store
+     * @return the handle of the slot
+     * @throws IllegalArgumentException if the board has a different configuration than the store
+     */
+    public int store(final Board board) {
+        throwIfIncompatible(board);
+
+        final int handle = allocateSlot();
+        write(handle, board);
+
+        return handle;
+    }
+
+    /**
+     * Overwrites the board stored in the slot.
+     *
+     * @param handle the handle of the slot
+     * @param board  the new state of the board
+     * @throws IllegalArgumentException if the board has a different configuration than the store
+     * @throws IllegalStateException    if the slot is free
+     */
+    public void update(final int handle, final Board board) {
+        throwIfIncompatible(board);
+        throwIfFree(handle);
+        write(handle, board);
+    }
+
+    /**
+     * Inflates the board stored in the slot.
+     *
+     * @param handle the handle of the slot
+     * @return a new board with the stored state
+     * @throws IllegalStateException if the slot is free
+     */
+    public Board load(final int handle) {
+        throwIfFree(handle);
+
+        final ByteBuffer slab = slabs[handle >>> SLAB_SHIFT];
+        final int offset = (handle & SLOT_MASK) * slotSize;
+        final int state = slab.get(offset) - 1;
+        final Player currentPlayer = Player.values()[state % Board.PLAYER_COUNT];
+        final RuleVariant variant = RuleVariant.values()[state / Board.PLAYER_COUNT];
+        final int[] pits = new int[pitCount];
+
+        for (int i = 0; i < pitCount; i++) {
+            pits[i] = readPit(slab, offset + 1 + i * pitWidth);
+        }
+
+        return new Board(numberOfPitsPerPlayer, stonesPerPit, pits, currentPlayer, variant);
+    }
+
+    /**
+     * Frees the slot so it can be reused by another board.
+     *
+     * @param handle the handle of the slot
+     * @throws IllegalStateException if the slot is already free
+     */
+    public synchronized void remove(final int handle) {
+        throwIfFree(handle);
+
+        slabs[handle >>> SLAB_SHIFT].put((handle & SLOT_MASK) * slotSize, FREE_SLOT);
+
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+
+        freeSlots[freeSlotCount++] = handle;
+        size--;
+    }
+
+    /**
+     * Gets the number of stored boards.
+     *
+     * @return the number of stored boards
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of bytes reserved by the slabs, including free slots.
+     *
+     * @return the number of reserved bytes
+     */
+    public long getReservedBytes() {
+        return (long) slabs.length * SLOTS_PER_SLAB * slotSize;
+    }
+
+    @Override
+    public void close() {
+        try {
+            allocator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Takes a slot from the free list, or the next never used slot, adding a slab if necessary.
+     *
+     * @return the handle of the slot
+     */
+    private synchronized int allocateSlot() {
+        final int handle;
+
+        if (freeSlotCount > 0) {
+            handle = freeSlots[--freeSlotCount];
+        } else {
+            handle = nextUnusedSlot++;
+
+            if ((handle >>> SLAB_SHIFT) == slabs.length) {
+                addSlab();
+            }
+        }
+
+        size++;
+        return handle;
+    }
+
+    /**
+     * Allocates a new slab and publishes it to the readers.
+     */
+    private void addSlab() {
+        final ByteBuffer[] grown = Arrays.copyOf(slabs, slabs.length + 1);
+
+        try {
+            grown[slabs.length] = allocator.allocate(slabs.length, SLOTS_PER_SLAB * slotSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        slabs = grown;
+    }
+
+    private void write(final int handle, final Board board) {
+        final ByteBuffer slab = slabs[handle >>> SLAB_SHIFT];
+        final int offset = (handle & SLOT_MASK) * slotSize;
+        final int[] pits = board.getPits();
+
+        for (int i = 0; i < pitCount; i++) {
+            writePit(slab, offset + 1 + i * pitWidth, pits[i]);
+        }
+
+        // The state byte is written last, so a slot never looks occupied with half-written pits.
+        slab.put(offset, (byte) (board.getVariant().ordinal() * Board.PLAYER_COUNT + board.getCurrentPlayer().ordinal() + 1));
+    }
+
+    private int readPit(final ByteBuffer slab, final int index) {
+        return switch (pitWidth) {
+            case Byte.BYTES -> slab.get(index) & 0xFF;
+            case Character.BYTES -> slab.getChar(index);
+            default -> slab.getInt(index);
+        };
+    }
+
+    private void writePit(final ByteBuffer slab, final int index, final int stones) {
+        switch (pitWidth) {
+            case Byte.BYTES -> slab.put(index, (byte) stones);
+            case Character.BYTES -> slab.putChar(index, (char) stones);
+            default -> slab.putInt(index, stones);
+        }
+    }
+
+    private void throwIfIncompatible(final Board board) {
+        if (board.getNumberOfPitsPerPlayer() != numberOfPitsPerPlayer || board.getStonesPerPit() != stonesPerPit) {
+            throw new IllegalArgumentException("The store only accepts boards with %d pits per player and %d stones per pit."
+                    .formatted(numberOfPitsPerPlayer, stonesPerPit));
+        }
+    }
+
+    private void throwIfFree(final int handle) {
+        final ByteBuffer[] currentSlabs = slabs;
+
+        if (handle < 0 || (handle >>> SLAB_SHIFT) >= currentSlabs.length
+                || currentSlabs[handle >>> SLAB_SHIFT].get((handle & SLOT_MASK) * slotSize) == FREE_SLOT) {
+            throw new IllegalStateException("No board is stored in slot %d.".formatted(handle));
+        }
+    }
+
+    /**
+     * Provides the memory for the slabs.
+     */
+    private interface SlabAllocator extends AutoCloseable {
+        ByteBuffer allocate(int slabIndex, int bytes) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+}
@@ -1,12 +1,17 @@
 document.addEventListener('DOMContentLoaded', () => {
 
+    const gameId = document.querySelector('.container').getAttribute('data-game-id');
+    let boardVersion = parseInt(document.querySelector('.container').getAttribute('data-version'), 10);
+
     const showDemoButton = document.getElementById('showDemoButton');
     showDemoButton.addEventListener('click', () => {
-        fetch('/demo', {
+        fetch(`/demo?gameId=${gameId}`, {
             method: 'POST'
         })
             .then(response => response.json())
             .then(data => {
+                updateBoardVersion(data.version);
+
                 if (data.error) {
                     showError(data.error);
                 } else if (data.moves) {
@@ -31,13 +36,18 @@ document.addEventListener('DOMContentLoaded', () => {
 
             if (pit.classList.contains('pit')) {
                 pit.addEventListener('click', () => {
-                    fetch(`/move?pit=${index}`, {
+                    fetch(`/move?gameId=${gameId}&pit=${index}&version=${boardVersion}`, {
                         method: 'POST'
                     })
                         .then(response => response.json())
                         .then(data => {
+                            updateBoardVersion(data.version);
+
                             if (data.error) {
                                 showError(data.error);
+                            } else if (data.conflict) {
+                                showError("The board has changed. Please pick again.");
+                                renderPits(data.pits);
                             } else if (data.moves) {
                                 showError("");
                                 animateMove(data.moves);
@@ -53,6 +63,19 @@ document.addEventListener('DOMContentLoaded', () => {
         });
     }
 
+    function updateBoardVersion(version) {
+        if (version !== null && version !== undefined) {
+            boardVersion = version;
+        }
+    }
+
+    function renderPits(pits) {
+        document.querySelectorAll('.pit, .mancala').forEach(pit => {
+            const index = parseInt(pit.getAttribute('data-index'), 10);
+            updatePit(pit, pits[index]);
+        });
+    }
+
     function updatePit(pit, stonesCount) {
         pit.innerHTML = ''; // Clear existing stones
         const stonesContainer = document.createElement('div');
@@ -0,0 +1,98 @@
+package org.example.admission;
+
+import org.example.exception.AdmissionRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AdmissionControl admissionControl;
+
+    @BeforeEach
+    void setUp() {
+        admissionControl = new AdmissionControl(new MockEnvironment()
+                .withProperty("mancala.admission.demo.max-concurrent", "1")
+                .withProperty("mancala.admission.demo.queue-capacity", "1")
+                .withProperty("mancala.admission.demo.queue-timeout-millis", "50")
+                .withProperty("mancala.admission.demo.max-per-client", "1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        admissionControl.close();
+    }
+
+    @Test
+    void testWorkRunsOffTheCallingThread() throws Exception {
+        final Thread caller = Thread.currentThread();
+
+        final CompletableFuture<Thread> worker = admissionControl.submit(WorkClass.DEMO, "a", Thread::currentThread);
+
+        assertNotSame(caller, worker.get(5, TimeUnit.SECONDS));
+        assertEquals(1, admissionControl.getStats().get(WorkClass.DEMO).admitted());
+    }
+
+    @Test
+    void testClientLimitRejects() {
+        admissionControl.submit(WorkClass.DEMO, "a", this::blockUntilReleased);
+
+        final AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class,
+                () -> admissionControl.submit(WorkClass.DEMO, "a", () -> 1));
+
+        assertEquals(AdmissionRejectedException.Reason.CLIENT_LIMIT, exception.getReason());
+        assertEquals(1, admissionControl.getStats().get(WorkClass.DEMO).rejectedClientLimit());
+    }
+
+    @Test
+    void testFullQueueRejects() {
+        admissionControl.submit(WorkClass.DEMO, "a", this::blockUntilReleased);
+        admissionControl.submit(WorkClass.DEMO, "b", () -> 1);
+
+        final AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class,
+                () -> admissionControl.submit(WorkClass.DEMO, "c", () -> 1));
+
+        assertEquals(AdmissionRejectedException.Reason.SATURATED, exception.getReason());
+        assertEquals(1, admissionControl.getStats().get(WorkClass.DEMO).queued());
+    }
+
+    @Test
+    void testWorkPastDeadlineIsDropped() throws Exception {
+        admissionControl.submit(WorkClass.DEMO, "a", this::blockUntilReleased);
+        final CompletableFuture<Integer> queued = admissionControl.submit(WorkClass.DEMO, "b", () -> 1);
+
+        Thread.sleep(100);
+        release.countDown();
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AdmissionRejectedException.class, exception.getCause());
+        assertEquals(1, admissionControl.getStats().get(WorkClass.DEMO).rejectedTimeout());
+    }
+
+    @Test
+    void testOtherWorkClassesAreIndependent() throws Exception {
+        admissionControl.submit(WorkClass.DEMO, "a", this::blockUntilReleased);
+
+        assertEquals(1, admissionControl.submit(WorkClass.ANALYSIS, "a", () -> 1).get(5, TimeUnit.SECONDS));
+    }
+
+    private int blockUntilReleased() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.analysis;
+
+import org.example.model.Board;
+import org.example.model.Player;
+import org.example.rules.RuleVariant;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures how many positions per second are evaluated one {@link Board} at a time, with the scalar batch
+ * kernel and with the Vector API kernel.
+ * <p>
+ * Run it with the Vector API module, e.g.
+ * {@code java --add-modules jdk.incubator.vector -cp target/classes:target/test-classes org.example.analysis.BatchEvaluatorBenchmark 1000000}.
+ */
+public final class BatchEvaluatorBenchmark {
+    private static final int DEFAULT_POSITIONS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    private BatchEvaluatorBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        final int positions = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POSITIONS;
+        final List<Board> boards = BatchEvaluatorTest.randomPositions(positions, RuleVariant.CLASSIC, new Random(42));
+        final PositionBlock block = new PositionBlock(6, RuleVariant.CLASSIC, positions);
+        boards.forEach(block::add);
+
+        System.out.printf("Evaluating %,d positions on %d cores, Vector API %s%n", positions,
+                Runtime.getRuntime().availableProcessors(), BatchEvaluator.isVectorApiAvailable() ? "available" : "not available");
+
+        final BatchEvaluator scalar = new BatchEvaluator(false);
+        final BatchEvaluator vector = new BatchEvaluator(true);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            final double perBoard = measure(positions, () -> evaluateBoards(boards));
+            final double batch = measure(positions, () -> scalar.evaluate(block).getScore(0));
+            final double vectorized = vector.isVectorized() ? measure(positions, () -> vector.evaluate(block).getScore(0)) : 0;
+
+            System.out.printf("round %d: per board %,.0f positions/s, batch %,.0f positions/s, vector %,.0f positions/s%n",
+                    round, perBoard, batch, vectorized);
+        }
+    }
+
+    /**
+     * Evaluates the boards through the Board API, the way a caller would without batches.
+     *
+     * @param boards the boards
+     * @return a checksum, so the work cannot be optimized away
+     */
+    private static long evaluateBoards(final List<Board> boards) {
+        long checksum = 0;
+
+        for (final Board board : boards) {
+            final Player player = board.getCurrentPlayer();
+            final int storeDifference = board.getStoredStonesCountForPlayer(player)
+                    - board.getStoredStonesCountForPlayer(player.nextPlayer());
+            final int store = board.getStoreIndexForPlayer(player);
+            final long mobility = board.getPlayersPits(player).filter(stones -> stones > 0).count();
+            final long extraTurnMoves = board.getPlayersPitsIndicesRange(player)
+                    .filter(pit -> board.getStonesInPit(pit) > 0 && board.getStonesInPit(pit) % 14 == store - pit)
+                    .count();
+
+            checksum += board.isGameOver() ? storeDifference : storeDifference * 4L + extraTurnMoves * 2 + mobility;
+        }
+
+        return checksum;
+    }
+
+    private static double measure(final int positions, final Runnable work) {
+        final long start = System.nanoTime();
+        work.run();
+        return positions * 1e9 / (System.nanoTime() - start);
+    }
+}
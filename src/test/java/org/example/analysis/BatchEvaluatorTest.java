@@ -0,0 +1,170 @@
+package org.example.analysis;
+
+import org.example.model.Board;
+import org.example.model.Player;
+import org.example.rules.RuleVariant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BatchEvaluatorTest {
+
+    @Test
+    void testInitialPosition() {
+        final PositionBlock block = new PositionBlock(6, RuleVariant.CLASSIC, 1);
+        block.add(new Board());
+
+        final BatchEvaluation evaluation = new BatchEvaluator(false).evaluate(block);
+
+        assertEquals(0, evaluation.getStoreDifference(0));
+        assertEquals(6, evaluation.getMobility(0));
+        assertEquals(1, evaluation.getExtraTurnMoves(0), "Only the first pit reaches the store");
+        assertEquals(0b111111, evaluation.getLegalMoves(0));
+        assertFalse(evaluation.isGameOver(0));
+        assertEquals(BatchEvaluator.EXTRA_TURN_WEIGHT + 6, evaluation.getScore(0));
+    }
+
+    @Test
+    void testMatchesBoardForRandomPositions() {
+        for (final RuleVariant variant : RuleVariant.values()) {
+            final List<Board> boards = randomPositions(5_000, variant, new Random(variant.ordinal()));
+            final PositionBlock block = new PositionBlock(6, variant, boards.size());
+            boards.forEach(block::add);
+
+            final BatchEvaluation evaluation = new BatchEvaluator(false).evaluate(block);
+
+            for (int i = 0; i < boards.size(); i++) {
+                assertMatchesBoard(boards.get(i), evaluation, i);
+            }
+        }
+    }
+
+    @Test
+    void testVectorApiMatchesScalarLoops() {
+        assumeTrue(BatchEvaluator.isVectorApiAvailable(), "The tests run without --add-modules jdk.incubator.vector");
+
+        final List<Board> boards = randomPositions(10_001, RuleVariant.KALAH, new Random(5));
+        final PositionBlock block = new PositionBlock(6, RuleVariant.KALAH, boards.size());
+        boards.forEach(block::add);
+
+        final BatchEvaluator vectorEvaluator = new BatchEvaluator(true);
+        final BatchEvaluation scalar = new BatchEvaluator(false).evaluate(block);
+        final BatchEvaluation vector = vectorEvaluator.evaluate(block);
+
+        assertTrue(vectorEvaluator.isVectorized());
+
+        for (int i = 0; i < boards.size(); i++) {
+            assertEquals(scalar.getScore(i), vector.getScore(i));
+            assertEquals(scalar.getStoreDifference(i), vector.getStoreDifference(i));
+            assertEquals(scalar.getMobility(i), vector.getMobility(i));
+            assertEquals(scalar.getExtraTurnMoves(i), vector.getExtraTurnMoves(i));
+            assertEquals(scalar.getLegalMoves(i), vector.getLegalMoves(i));
+            assertEquals(scalar.isGameOver(i), vector.isGameOver(i));
+        }
+    }
+
+    @Test
+    void testStonesLappingTheBoard() {
+        final int[] pits = new Board().getPits();
+        pits[0] = 6 + 14;
+        pits[1] = 5 + 13;
+
+        final PositionBlock classic = new PositionBlock(6, RuleVariant.CLASSIC, 1);
+        final PositionBlock skipping = new PositionBlock(6, RuleVariant.SKIP_OPPONENT_STORE, 1);
+        classic.add(pits, Player.ONE);
+        skipping.add(pits, Player.ONE);
+
+        assertEquals(1, new BatchEvaluator(false).evaluate(classic).getExtraTurnMoves(0));
+        assertEquals(1, new BatchEvaluator(false).evaluate(skipping).getExtraTurnMoves(0));
+    }
+
+    @Test
+    void testGameOverCountsRemainingStones() {
+        final int[] pits = new int[14];
+        pits[6] = 30;
+        pits[13] = 36;
+        pits[8] = 6;
+
+        final PositionBlock block = new PositionBlock(6, RuleVariant.CLASSIC, 1);
+        block.add(pits, Player.TWO);
+        final BatchEvaluation evaluation = new BatchEvaluator(false).evaluate(block);
+
+        assertTrue(evaluation.isGameOver(0));
+        assertEquals(12, evaluation.getStoreDifference(0));
+        assertEquals(0, evaluation.getMobility(0));
+        assertEquals(0, evaluation.getLegalMoves(0));
+    }
+
+    @Test
+    void testIncompatiblePositionsAreRejected() {
+        final PositionBlock block = new PositionBlock(6, RuleVariant.CLASSIC, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> block.add(new Board(RuleVariant.KALAH)));
+        assertThrows(IllegalArgumentException.class, () -> block.add(new int[10], Player.ONE));
+        block.add(new Board());
+        assertThrows(IllegalStateException.class, () -> block.add(new Board()));
+    }
+
+    private static void assertMatchesBoard(final Board board, final BatchEvaluation evaluation, final int position) {
+        final Player player = board.getCurrentPlayer();
+        final int storeDifference = board.getStoredStonesCountForPlayer(player)
+                - board.getStoredStonesCountForPlayer(player.nextPlayer());
+
+        assertEquals(board.isGameOver(), evaluation.isGameOver(position));
+        assertEquals(storeDifference, evaluation.getStoreDifference(position));
+
+        if (board.isGameOver()) {
+            assertEquals(0, evaluation.getMobility(position));
+            return;
+        }
+
+        final int firstPit = board.getPlayersPitsIndicesRange(player).min().orElseThrow();
+        int mobility = 0;
+        int extraTurnMoves = 0;
+        int legalMoves = 0;
+
+        for (int pit = firstPit; pit < firstPit + board.getNumberOfPitsPerPlayer(); pit++) {
+            if (board.checkPitIsEmpty(pit)) {
+                continue;
+            }
+
+            final Board afterMove = new Board(board.getNumberOfPitsPerPlayer(), board.getStonesPerPit(), board.getPits(),
+                    player, board.getVariant());
+            afterMove.moveStones(pit);
+
+            mobility++;
+            legalMoves |= 1 << (pit - firstPit);
+            extraTurnMoves += afterMove.getCurrentPlayer() == player ? 1 : 0;
+        }
+
+        assertEquals(mobility, evaluation.getMobility(position));
+        assertEquals(extraTurnMoves, evaluation.getExtraTurnMoves(position));
+        assertEquals(legalMoves, evaluation.getLegalMoves(position));
+    }
+
+    static List<Board> randomPositions(final int count, final RuleVariant variant, final Random random) {
+        final List<Board> boards = new ArrayList<>(count);
+        Board board = new Board(variant);
+
+        while (boards.size() < count) {
+            final int[] pits = board.getPits();
+            final int[] legalPits = board.getPlayersPitsIndicesRange(board.getCurrentPlayer()).filter(i -> pits[i] > 0).toArray();
+
+            board.moveStones(legalPits[random.nextInt(legalPits.length)]);
+            boards.add(new Board(board.getNumberOfPitsPerPlayer(), board.getStonesPerPit(), board.getPits(),
+                    board.getCurrentPlayer(), variant));
+
+            if (board.isGameOver()) {
+                board = new Board(variant);
+            }
+        }
+
+        return boards;
+    }
+
+}
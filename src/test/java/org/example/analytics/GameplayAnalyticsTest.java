@@ -0,0 +1,120 @@
+package org.example.analytics;
+
+import org.example.model.Board;
+import org.example.model.Player;
+import org.example.repository.InMemoryGameRepository;
+import org.example.service.GameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameplayAnalyticsTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private GameplayAnalytics analytics;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new GameplayAnalytics(1024, 60, 10, 100, now::get);
+        gameService = new GameService(new InMemoryGameRepository(), List.of(analytics));
+    }
+
+    @Test
+    void testPitChoicesAndExtraTurns() {
+        final long gameId = gameService.createGame();
+
+        gameService.makeMove(gameId, 0);
+        gameService.makeMove(gameId, 1);
+        gameService.makeMove(gameId, 8);
+        analytics.drain();
+
+        final GameplayStats stats = analytics.getStats();
+
+        assertEquals(3, stats.moves());
+        assertEquals(1, stats.extraTurns());
+        assertArrayEquals(new long[]{1, 1}, stats.pitChoices().get(Player.ONE));
+        assertArrayEquals(new long[]{0, 1}, stats.pitChoices().get(Player.TWO));
+        assertEquals(0, stats.gamesFinished());
+    }
+
+    @Test
+    void testFinishedGamesAreCounted() {
+        final Random random = new Random(3);
+        long moves = 0;
+
+        for (int i = 0; i < 20; i++) {
+            moves += playRandomGame(gameService.createGame(), random);
+            analytics.drain();
+        }
+
+        final GameplayStats stats = analytics.getStats();
+
+        assertEquals(moves, stats.moves());
+        assertEquals(20, stats.gamesFinished());
+        assertEquals(20, stats.playerOneWins() + stats.playerTwoWins() + stats.ties());
+        assertEquals((double) moves / 20, stats.averageGameLength(), 1e-9);
+        assertEquals(0, stats.droppedEvents());
+    }
+
+    @Test
+    void testMoveAfterUndoIsNotTakenForTheFirstMove() {
+        final long gameId = gameService.createGame();
+
+        gameService.makeMove(gameId, 1);
+        gameService.makeMove(gameId, 8);
+        gameService.undo(gameId);
+        gameService.makeMove(gameId, 9);
+        final int moves = 3 + playRandomGame(gameId, new Random(7));
+        analytics.drain();
+
+        final GameplayStats stats = analytics.getStats();
+
+        assertEquals(moves, stats.moves());
+        assertEquals(1, stats.gamesFinished());
+        assertEquals(moves, stats.averageGameLength(), 1e-9);
+    }
+
+    @Test
+    void testOldMovesLeaveTheWindow() {
+        final long gameId = gameService.createGame();
+
+        gameService.makeMove(gameId, 1);
+        analytics.drain();
+        now.addAndGet(30_000);
+        gameService.makeMove(gameId, 8);
+        analytics.drain();
+
+        assertEquals(2, analytics.getStats().moves());
+
+        now.addAndGet(35_000);
+        analytics.drain();
+
+        assertEquals(1, analytics.getStats().moves());
+
+        now.addAndGet(60_000);
+        analytics.drain();
+
+        assertEquals(0, analytics.getStats().moves());
+    }
+
+    private int playRandomGame(final long gameId, final Random random) {
+        int moves = 0;
+
+        while (!gameService.isGameOver(gameId)) {
+            final Board board = gameService.getBoard(gameId);
+            final int[] legalPits = board.getPlayersPitsIndicesRange(board.getCurrentPlayer())
+                    .filter(i -> board.getPits()[i] > 0).toArray();
+
+            gameService.makeMove(gameId, legalPits[random.nextInt(legalPits.length)]);
+            moves++;
+        }
+
+        return moves;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveEventRingTest {
+
+    @Test
+    void testEventsAreDrainedInOrder() {
+        final MoveEventRing ring = new MoveEventRing(8);
+        final List<Long> gameIds = new ArrayList<>();
+        final List<Integer> events = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(ring.offer(i, i * 10));
+        }
+
+        assertEquals(5, ring.drain((gameId, event) -> {
+            gameIds.add(gameId);
+            events.add(event);
+        }));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), gameIds);
+        assertEquals(List.of(0, 10, 20, 30, 40), events);
+        assertEquals(0, ring.drain((gameId, event) -> fail()));
+    }
+
+    @Test
+    void testFullRingDropsEvents() {
+        final MoveEventRing ring = new MoveEventRing(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(1, i));
+        }
+
+        assertFalse(ring.offer(1, 4));
+        assertEquals(1, ring.getDroppedCount());
+
+        ring.drain((gameId, event) -> { });
+
+        assertTrue(ring.offer(1, 5));
+    }
+
+    @Test
+    void testConcurrentProducers() throws InterruptedException {
+        final MoveEventRing ring = new MoveEventRing(1 << 10);
+        final int producers = 4;
+        final int eventsPerProducer = 50_000;
+        final CountDownLatch done = new CountDownLatch(producers);
+        final long[] sums = new long[producers];
+        long drained = 0;
+
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            Thread.ofPlatform().start(() -> {
+                for (int i = 1; i <= eventsPerProducer; i++) {
+                    while (!ring.offer(producer, i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        while (done.getCount() > 0 || drained < (long) producers * eventsPerProducer) {
+            drained += ring.drain((gameId, event) -> sums[(int) gameId] += event);
+        }
+
+        for (final long sum : sums) {
+            assertEquals((long) eventsPerProducer * (eventsPerProducer + 1) / 2, sum);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reports the throughput of exporting, importing and replaying recorded games.
+ * <p>
+ * Run it with {@code java -cp target/classes:target/test-classes org.example.archive.GameRecordBenchmark 1000000}.
+ */
+public final class GameRecordBenchmark {
+    private static final int DEFAULT_GAMES = 1_000_000;
+    private static final int ROUNDS = 3;
+
+    private GameRecordBenchmark() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        final List<GameRecord> records = GameRecordTest.randomGames(games, new Random(42));
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            final byte[] bytes = GameRecordTest.export(records, 64 * 1024);
+            final long exportNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            final List<GameRecord> imported = GameRecordReader.readAll(new ByteArrayInputStream(bytes));
+            final long importNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            GameReplayer.replayAll(imported);
+            final long replayNanos = System.nanoTime() - start;
+
+            System.out.printf("round %d: %.1f bytes/game, export %,.0f games/s, import %,.0f games/s, replay %,.0f games/s%n",
+                    round, (double) bytes.length / games, perSecond(games, exportNanos),
+                    perSecond(games, importNanos), perSecond(games, replayNanos));
+        }
+    }
+
+    private static double perSecond(final int games, final long nanos) {
+        return games * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.archive;
+
+import org.example.exception.GameRecordFormatException;
+import org.example.model.Board;
+import org.example.model.Player;
+import org.example.rules.RuleVariant;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRecordTest {
+
+    @Test
+    void testRoundTripAcrossBlocks() throws IOException {
+        final List<GameRecord> records = randomGames(500, new Random(42));
+
+        final byte[] bytes = export(records, 256);
+
+        assertEquals(records, GameRecordReader.readAll(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void testGamesAreCompact() throws IOException {
+        final List<GameRecord> records = randomGames(1_000, new Random(7));
+        final long moveCount = records.stream().mapToLong(record -> record.pickedPits().length).sum();
+
+        final byte[] bytes = export(records, 64 * 1024);
+
+        // Every picked pit of a 6x6 board fits in a single byte, the game header in at most five.
+        assertTrue(bytes.length < moveCount + records.size() * 5L + 64);
+    }
+
+    @Test
+    void testCorruptedBlockIsRejected() throws IOException {
+        final byte[] bytes = export(randomGames(10, new Random(1)), 64 * 1024);
+        bytes[bytes.length - 1] ^= 0x01;
+
+        assertThrows(GameRecordFormatException.class, () -> GameRecordReader.readAll(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void testTruncatedStreamIsRejected() throws IOException {
+        final byte[] bytes = export(randomGames(10, new Random(1)), 64 * 1024);
+        final byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        assertThrows(GameRecordFormatException.class, () -> GameRecordReader.readAll(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    void testForeignStreamIsRejected() {
+        final byte[] bytes = "not a game record".getBytes();
+
+        assertThrows(GameRecordFormatException.class, () -> GameRecordReader.readAll(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void testRuleVariantsRoundTripAndReplay() throws IOException {
+        final Random random = new Random(11);
+        final List<GameRecord> records = new ArrayList<>();
+
+        for (final RuleVariant variant : RuleVariant.values()) {
+            for (int i = 0; i < 20; i++) {
+                records.add(randomGame(random, variant));
+            }
+        }
+
+        final List<GameRecord> imported = GameRecordReader.readAll(new ByteArrayInputStream(export(records, 512)));
+        final List<GameReplayer.Result> results = GameReplayer.replayAll(imported);
+
+        assertEquals(records, imported);
+        results.forEach(result -> assertTrue(result.board().isGameOver()));
+    }
+
+    @Test
+    void testClassicFormatStreamIsReadAsClassicGames() throws IOException {
+        final byte[] bytes = singleBlockStream(GameRecordFormat.CLASSIC_FORMAT_VERSION, new byte[]{6, 6, 1, 0});
+
+        assertEquals(List.of(new GameRecord(6, 6, RuleVariant.CLASSIC, new int[]{0})),
+                GameRecordReader.readAll(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void testReplayRebuildsFinalBoardAndWinner() {
+        final List<GameRecord> records = randomGames(200, new Random(3));
+
+        final List<GameReplayer.Result> results = GameReplayer.replayAll(records);
+
+        for (int i = 0; i < records.size(); i++) {
+            final Board expected = records.get(i).newBoard();
+            Arrays.stream(records.get(i).pickedPits()).forEach(expected::moveStones);
+
+            assertArrayEquals(expected.getPits(), results.get(i).board().getPits());
+            assertEquals(expected.determineWinner(), results.get(i).winner());
+        }
+    }
+
+    @Test
+    void testNegativeVarintIsRejected() throws IOException {
+        // A move count whose fifth varint byte overflows into the sign bit, in a block with a valid checksum.
+        final byte[] payload = {6, 6, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F, 0};
+        final byte[] bytes = singleBlockStream(GameRecordFormat.FORMAT_VERSION, payload);
+
+        assertThrows(GameRecordFormatException.class, () -> GameRecordReader.readAll(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void testUnsupportedBoardSizeIsRejected() throws IOException {
+        // 65,536 pits per player, in a block with a valid checksum.
+        final byte[] pits = singleBlockStream(GameRecordFormat.FORMAT_VERSION,
+                new byte[]{(byte) 0x80, (byte) 0x80, 0x04, 6, 0, 0});
+        final byte[] stones = singleBlockStream(GameRecordFormat.FORMAT_VERSION, new byte[]{6, 0, 0, 0});
+
+        assertThrows(GameRecordFormatException.class, () -> GameRecordReader.readAll(new ByteArrayInputStream(pits)));
+        assertThrows(GameRecordFormatException.class, () -> GameRecordReader.readAll(new ByteArrayInputStream(stones)));
+    }
+
+    @Test
+    void testStreamIsReplayedBlockByBlock() throws IOException {
+        final List<GameRecord> records = randomGames(500, new Random(5));
+        final List<GameReplayer.Result> expected = GameReplayer.replayAll(records);
+        final List<GameReplayer.Result> results = new ArrayList<>();
+
+        try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(export(records, 256)))) {
+            GameReplayer.replayAll(reader, results::add);
+        }
+
+        assertEquals(expected.size(), results.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i).board().getPits(), results.get(i).board().getPits());
+            assertEquals(expected.get(i).winner(), results.get(i).winner());
+        }
+    }
+
+    @Test
+    void testBlocksBeforeACorruptedOneAreReplayed() throws IOException {
+        final byte[] bytes = export(randomGames(500, new Random(5)), 256);
+        bytes[bytes.length - 1] ^= 0x01;
+        final List<GameReplayer.Result> results = new ArrayList<>();
+
+        try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes))) {
+            assertThrows(GameRecordFormatException.class, () -> GameReplayer.replayAll(reader, results::add));
+        }
+
+        assertFalse(results.isEmpty());
+        assertTrue(results.size() < 500);
+    }
+
+    private static byte[] singleBlockStream(final byte formatVersion, final byte[] payload) throws IOException {
+        final CRC32C checksum = new CRC32C();
+        checksum.update(payload);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(GameRecordFormat.MAGIC);
+        out.writeByte(formatVersion);
+        out.writeInt(payload.length);
+        out.writeInt(1);
+        out.writeInt((int) checksum.getValue());
+        out.write(payload);
+
+        return bytes.toByteArray();
+    }
+
+    static byte[] export(final List<GameRecord> records, final int blockSize) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (GameRecordWriter writer = new GameRecordWriter(out, blockSize)) {
+            for (final GameRecord record : records) {
+                writer.write(record);
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    static List<GameRecord> randomGames(final int count, final Random random) {
+        final List<GameRecord> records = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            records.add(randomGame(random));
+        }
+
+        return records;
+    }
+
+    static GameRecord randomGame(final Random random) {
+        return randomGame(random, RuleVariant.CLASSIC);
+    }
+
+    static GameRecord randomGame(final Random random, final RuleVariant variant) {
+        final Board board = new Board(variant);
+        final List<Integer> pickedPits = new ArrayList<>();
+
+        while (!board.isGameOver()) {
+            final Player player = board.getCurrentPlayer();
+            final int[] legalPits = board.getPlayersPitsIndicesRange(player).filter(i -> board.getPits()[i] > 0).toArray();
+            final int pit = legalPits[random.nextInt(legalPits.length)];
+
+            board.moveStones(pit);
+            pickedPits.add(pit);
+        }
+
+        return new GameRecord(board.getNumberOfPitsPerPlayer(), board.getStonesPerPit(), variant,
+                pickedPits.stream().mapToInt(Integer::intValue).toArray());
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.bot;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.MancalaGameApplication;
+import org.example.controller.GameControllerResponse;
+import org.example.service.GameService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the moves per second bots can play through {@code POST /move} and through the {@link BotServer}.
+ * <p>
+ * The application is started locally with the bot server on a random port. Each bot plays its own game with
+ * random legal moves on the board of the last response and restarts the game when it is over, first over
+ * REST and then over the binary protocol. Run it from the test classpath with
+ * {@code --add-modules jdk.incubator.vector}, optionally passing the number of bots and the seconds per protocol.
+ */
+public final class BotProtocolBenchmark {
+    private static final int DEFAULT_BOTS = 8;
+    private static final int DEFAULT_SECONDS = 10;
+    private static final int WARMUP_SECONDS = 3;
+
+    private final GameService gameService;
+    private final String baseUrl;
+    private final int botPort;
+    private volatile boolean running;
+    private volatile boolean measuring;
+    private final LongAdder moves = new LongAdder();
+
+    private BotProtocolBenchmark(final ConfigurableApplicationContext application) {
+        this.gameService = application.getBean(GameService.class);
+        this.baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        this.botPort = application.getBean(BotServer.class).getPort();
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        final int bots = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BOTS;
+        final int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (ConfigurableApplicationContext application = SpringApplication.run(MancalaGameApplication.class,
+                "--server.port=0", "--mancala.bot.port=0", "--logging.level.root=WARN")) {
+            final BotProtocolBenchmark benchmark = new BotProtocolBenchmark(application);
+            final double rest = benchmark.run("rest", bots, seconds, benchmark::playOverRest);
+            final double binary = benchmark.run("binary", bots, seconds, benchmark::playOverBotProtocol);
+
+            System.out.printf("binary/rest %.1fx%n", binary / rest);
+        }
+    }
+
+    private double run(final String protocol, final int bots, final int seconds, final Runnable bot) throws InterruptedException {
+        moves.reset();
+        running = true;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < bots; i++) {
+                executor.execute(bot);
+            }
+
+            TimeUnit.SECONDS.sleep(WARMUP_SECONDS);
+            moves.reset();
+            measuring = true;
+            TimeUnit.SECONDS.sleep(seconds);
+            measuring = false;
+            running = false;
+        }
+
+        final double movesPerSecond = (double) moves.sum() / seconds;
+        System.out.printf("%-7s %,12.0f moves/s with %d bots%n", protocol, movesPerSecond, bots);
+        return movesPerSecond;
+    }
+
+    private void playOverRest() {
+        final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        final ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        final Random random = new Random();
+        final long gameId = gameService.createGame();
+        int[] pits = gameService.getSnapshot(gameId).getPits();
+        long version = 0;
+        boolean playerOne = true;
+
+        try {
+            while (running) {
+                final int pit = pickLegalPit(pits, playerOne, random);
+
+                if (pit < 0) {
+                    gameService.resetGame(gameId);
+                    version = gameService.getVersion(gameId);
+                    pits = gameService.getSnapshot(gameId).getPits();
+                    playerOne = true;
+                    continue;
+                }
+
+                final HttpRequest request = HttpRequest.newBuilder(URI.create(
+                                "%s/move?gameId=%d&pit=%d&version=%d".formatted(baseUrl, gameId, pit, version)))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build();
+                final GameControllerResponse response = objectMapper.readValue(
+                        client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body(), GameControllerResponse.class);
+
+                countMove(!response.isConflict() && response.getError() == null);
+                pits = response.getPits();
+                version = response.getVersion();
+                playerOne = "Player One".equals(response.getCurrentPlayer());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void playOverBotProtocol() {
+        final Random random = new Random();
+        final long gameId = gameService.createGame();
+
+        try (BotClient client = BotClient.connect("localhost", botPort)) {
+            BotResponse response = client.query(gameId);
+
+            while (running) {
+                final int pit = pickLegalPit(response.pits(), response.currentPlayer().ordinal() == 0, random);
+
+                if (pit < 0) {
+                    gameService.resetGame(gameId);
+                    response = client.query(gameId);
+                    continue;
+                }
+
+                response = client.move(gameId, response.version(), pit);
+                countMove(response.status() == BotStatus.OK);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void countMove(final boolean applied) {
+        if (applied && measuring) {
+            moves.increment();
+        }
+    }
+
+    private static int pickLegalPit(final int[] pits, final boolean playerOne, final Random random) {
+        final int pitsPerPlayer = (pits.length - 2) / 2;
+        final int first = playerOne ? 0 : pitsPerPlayer + 1;
+        final int start = random.nextInt(pitsPerPlayer);
+
+        for (int i = 0; i < pitsPerPlayer; i++) {
+            final int pit = first + (start + i) % pitsPerPlayer;
+
+            if (pits[pit] > 0) {
+                return pit;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.bot;
+
+import org.example.model.BoardSnapshot;
+import org.example.model.Player;
+import org.example.repository.InMemoryGameRepository;
+import org.example.service.GameService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotServerTest {
+
+    private GameService gameService;
+    private BotServer server;
+    private BotClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gameService = new GameService(new InMemoryGameRepository(), List.of());
+        server = new BotServer(gameService, 0, 2);
+        client = BotClient.connect("localhost", server.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void testQueryReturnsBoard() throws IOException {
+        final long gameId = gameService.createGame();
+
+        final BotResponse response = client.query(gameId);
+
+        assertEquals(BotStatus.OK, response.status());
+        assertEquals(0, response.version());
+        assertEquals(Player.ONE, response.currentPlayer());
+        assertNull(response.winner());
+        assertArrayEquals(gameService.getSnapshot(gameId).getPits(), response.pits());
+    }
+
+    @Test
+    void testMoveIsMade() throws IOException {
+        final long gameId = gameService.createGame();
+
+        final BotResponse response = client.move(gameId, 0, 1);
+
+        assertEquals(BotStatus.OK, response.status());
+        assertEquals(1, response.version());
+        assertEquals(Player.TWO, response.currentPlayer());
+        assertArrayEquals(new int[]{6, 0, 7, 7, 7, 7, 1, 7, 6, 6, 6, 6, 6, 0}, response.pits());
+        assertEquals(1, gameService.getVersion(gameId));
+    }
+
+    @Test
+    void testStaleVersionIsConflict() throws IOException {
+        final long gameId = gameService.createGame();
+        gameService.makeMove(gameId, 1);
+
+        final BotResponse response = client.move(gameId, 0, 2);
+
+        assertEquals(BotStatus.VERSION_CONFLICT, response.status());
+        assertEquals(1, response.version());
+    }
+
+    @Test
+    void testInvalidMoveReportsErrorCode() throws IOException {
+        final long gameId = gameService.createGame();
+
+        assertEquals(BotStatus.WRONG_PLAYER_TURN, client.move(gameId, 0, 8).status());
+        assertEquals(BotStatus.PIT_DOES_NOT_EXIST, client.move(gameId, 0, 99).status());
+        assertEquals(0, client.query(gameId).version());
+    }
+
+    @Test
+    void testUnknownGame() throws IOException {
+        final BotResponse response = client.move(123_456_789L, 0, 1);
+
+        assertEquals(BotStatus.GAME_NOT_FOUND, response.status());
+        assertEquals(-1, response.version());
+        assertNull(response.currentPlayer());
+        assertEquals(0, response.pits().length);
+    }
+
+    @Test
+    void testPipelinedRequestsAreAnsweredInOrder() throws IOException {
+        final long gameId = gameService.createGame();
+
+        client.send(gameId, 0, 1);
+        client.send(gameId, 1, 8);
+        client.send(gameId, 2, BotProtocol.QUERY_PIT);
+
+        assertEquals(1, client.receive().version());
+        assertEquals(2, client.receive().version());
+        assertEquals(Player.ONE, client.receive().currentPlayer());
+    }
+
+    @Test
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void testSlowMoveDoesNotHoldUpOtherConnections() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final InMemoryGameRepository slowRepository = new InMemoryGameRepository() {
+            @Override
+            public boolean replace(final long gameId, final BoardSnapshot expected, final BoardSnapshot next) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.replace(gameId, expected, next);
+            }
+        };
+        final GameService slowService = new GameService(slowRepository, List.of());
+        final long gameId = slowService.createGame();
+
+        try (BotServer singleThreaded = new BotServer(slowService, 0, 1);
+             BotClient mover = BotClient.connect("localhost", singleThreaded.getPort());
+             BotClient reader = BotClient.connect("localhost", singleThreaded.getPort())) {
+            mover.send(gameId, 0, 1);
+            mover.send(gameId, 1, 8);
+
+            // Both connections share the only I/O thread, which must not wait for the blocked move.
+            assertEquals(0, reader.query(gameId).version());
+
+            release.countDown();
+
+            assertEquals(1, mover.receive().version());
+            assertEquals(2, mover.receive().version());
+        }
+    }
+}
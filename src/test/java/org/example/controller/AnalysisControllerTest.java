@@ -0,0 +1,52 @@
+package org.example.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AnalysisControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void evaluate_shouldScoreEveryPosition() throws Exception {
+        final String body = """
+                {"numberOfPitsPerPlayer": 6, "variant": "KALAH", "positions": [
+                  {"pits": [6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0], "currentPlayer": "ONE"},
+                  {"pits": [0, 0, 0, 0, 0, 0, 30, 6, 0, 0, 0, 0, 0, 36], "currentPlayer": "TWO"}
+                ]}""";
+
+        final MvcResult result = mockMvc.perform(post("/analysis/evaluate").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mobilities[0]").value(6))
+                .andExpect(jsonPath("$.extraTurnMoves[0]").value(1))
+                .andExpect(jsonPath("$.legalMoves[0]").value(63))
+                .andExpect(jsonPath("$.gameOver[0]").value(false))
+                .andExpect(jsonPath("$.gameOver[1]").value(true))
+                .andExpect(jsonPath("$.storeDifferences[1]").value(12));
+    }
+
+    @Test
+    void evaluate_withMalformedPosition_shouldReturnBadRequest() throws Exception {
+        final String body = """
+                {"numberOfPitsPerPlayer": 6, "positions": [{"pits": [6, 6, 6], "currentPlayer": "ONE"}]}""";
+
+        mockMvc.perform(post("/analysis/evaluate").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientIdentityTest {
+
+    @Test
+    void testSessionNamesTheClient() {
+        final MockHttpSession session = new MockHttpSession();
+        final MockHttpServletRequest first = new MockHttpServletRequest();
+        final MockHttpServletRequest second = new MockHttpServletRequest();
+        first.setSession(session);
+        second.setSession(session);
+        second.addHeader("X-Client-Id", "someone-else");
+
+        assertEquals(ClientIdentity.of(first), ClientIdentity.of(second), "Headers must not change the identity");
+    }
+
+    @Test
+    void testClientsBehindOneAddressAreToldApart() {
+        final MockHttpServletRequest first = new MockHttpServletRequest();
+        final MockHttpServletRequest second = new MockHttpServletRequest();
+        first.setRemoteAddr("10.0.0.1");
+        second.setRemoteAddr("10.0.0.1");
+
+        assertNotEquals(ClientIdentity.of(first), ClientIdentity.of(second));
+        assertNotNull(first.getSession(false), "A session should be created");
+    }
+
+    @Test
+    void testPrincipalNamesTheClient() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setUserPrincipal(() -> "alice");
+
+        assertEquals("user:alice", ClientIdentity.of(request));
+        assertNull(request.getSession(false), "No session is needed for an authenticated client");
+    }
+}
@@ -2,11 +2,16 @@ package org.example.controller;
 
 import org.example.exception.ErrorCode;
 import org.example.exception.GameLogicException;
+import org.example.exception.GameNotFoundException;
+import org.example.exception.HistoryUnavailableException;
 import org.example.model.Board;
+import org.example.model.BoardSnapshot;
 import org.example.model.Move;
 import org.example.model.Player;
 import org.example.model.Winner;
+import org.example.rules.RuleVariant;
 import org.example.service.GameService;
+import org.example.service.MoveResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -16,13 +21,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
-import java.util.Collections;
+import java.util.List;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasProperty;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -50,56 +61,117 @@ class GameControllerTest {
     @Test
     void index_shouldReturnIndexPage() throws Exception {
         Board board = new Board();
-        when(gameService.getBoard()).thenReturn(board);
+        board.moveStones(1);
+        when(gameService.getSnapshot(0L)).thenReturn(BoardSnapshot.of(board, 5));
 
         mockMvc.perform(get("/"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("index"))
-                .andExpect(model().attribute("board", board))
-                .andExpect(model().attribute("currentPlayer", board.getCurrentPlayer().toString()));
+                .andExpect(model().attribute("board", hasProperty("pits", equalTo(board.getPits()))))
+                .andExpect(model().attribute("currentPlayer", board.getCurrentPlayer().toString()))
+                .andExpect(model().attribute("version", 5L));
     }
 
     @Test
     void makeMove_shouldReturnUpdatedBoard() throws Exception {
-        Board board = new Board();
-        Move move = new Move(0, 1);
-        when(gameService.getBoard()).thenReturn(board);
-        when(gameService.makeMove(anyInt())).thenReturn(Collections.singletonList(move));
+        final Board board = new Board();
+        final BoardSnapshot before = BoardSnapshot.of(board, 1);
+        final List<Move> moves = board.moveStones(0);
+        final BoardSnapshot after = before.next(board, 0, moves);
+
+        when(gameService.getSnapshot(0L)).thenReturn(before);
+        when(gameService.makeMove(eq(0L), anyInt())).thenReturn(new MoveResult.Applied(after, moves, false));
 
         mockMvc.perform(post("/move").param("pit", "0"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.currentPlayer").value(board.getCurrentPlayer().toString()))
-                .andExpect(jsonPath("$.moves[0].fromPitIndex").value(move.getFromPitIndex()))
-                .andExpect(jsonPath("$.moves[0].toPitIndex").value(move.getToPitIndex()));
+                .andExpect(jsonPath("$.version").value(2))
+                .andExpect(jsonPath("$.pits[0]").value(0))
+                .andExpect(jsonPath("$.moves[0].fromPitIndex").value(moves.get(0).fromPitIndex()))
+                .andExpect(jsonPath("$.moves[0].toPitIndex").value(moves.get(0).toPitIndex()));
+    }
+
+    @Test
+    void makeMove_shouldReturnTheBoardOfTheMoveMadeNotALaterOne() throws Exception {
+        final Board board = new Board();
+        final BoardSnapshot before = BoardSnapshot.of(board, 1);
+        final List<Move> moves = board.moveStones(0);
+        final BoardSnapshot after = before.next(board, 0, moves);
+        final BoardSnapshot later = after.next(board, 1, board.moveStones(1));
+
+        when(gameService.getSnapshot(0L)).thenReturn(before, later);
+        when(gameService.makeMove(eq(0L), anyInt())).thenReturn(new MoveResult.Applied(after, moves, false));
+
+        mockMvc.perform(post("/move").param("pit", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2))
+                .andExpect(jsonPath("$.currentPlayer").value(after.getCurrentPlayer().toString()));
     }
 
     @Test
     void makeMove_shouldReturnErrorOnInvalidMove() throws Exception {
-        Board board = new Board();
-        when(gameService.getBoard()).thenReturn(board);
-        when(gameService.makeMove(anyInt())).thenThrow(new GameLogicException(ErrorCode.EMPTY_PIT, Player.ONE, 0));
+        when(gameService.getSnapshot(0L)).thenReturn(BoardSnapshot.of(new Board(), 0));
+        when(gameService.makeMove(eq(0L), anyInt())).thenThrow(new GameLogicException(ErrorCode.EMPTY_PIT, Player.ONE, 0));
 
         mockMvc.perform(post("/move").param("pit", "0"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.error").exists());
     }
 
+    @Test
+    void makeMove_withVersion_shouldReturnAppliedMoveAndNewVersion() throws Exception {
+        final Board board = new Board();
+        final BoardSnapshot before = BoardSnapshot.of(board, 3);
+        final List<Move> moves = board.moveStones(0);
+        final BoardSnapshot after = before.next(board, 0, moves);
+
+        when(gameService.getSnapshot(0L)).thenReturn(before);
+        when(gameService.makeMove(0L, 0, 3)).thenReturn(new MoveResult.Applied(after, moves, false));
+
+        mockMvc.perform(post("/move").param("pit", "0").param("version", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(4))
+                .andExpect(jsonPath("$.conflict").value(false))
+                .andExpect(jsonPath("$.pits[0]").value(0))
+                .andExpect(jsonPath("$.moves[0].fromPitIndex").value(0));
+    }
+
+    @Test
+    void makeMove_withStaleVersion_shouldReturnConflict() throws Exception {
+        final BoardSnapshot current = BoardSnapshot.of(new Board(), 7);
+
+        when(gameService.getSnapshot(0L)).thenReturn(current);
+        when(gameService.makeMove(0L, 0, 3)).thenReturn(new MoveResult.Conflict(current));
+
+        mockMvc.perform(post("/move").param("pit", "0").param("version", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conflict").value(true))
+                .andExpect(jsonPath("$.version").value(7))
+                .andExpect(jsonPath("$.moves").doesNotExist())
+                .andExpect(jsonPath("$.error").doesNotExist());
+    }
+
     @Test
     void makeDemoMoves_shouldReturnMovesAndWinner() throws Exception {
         final Board board = new Board();
         final Move move = new Move(0, 1);
 
-        when(gameService.getBoard()).thenReturn(board);
-        when(gameService.getRandomPitIndex()).thenReturn(0);
-        when(gameService.isGameOver()).thenReturn(false).thenReturn(true);
-        when(gameService.makeMove(anyInt())).thenReturn(Collections.singletonList(move));
-        when(gameService.getWinnerString()).thenReturn("Player One wins!");
+        when(gameService.getRandomPitIndex(0L)).thenReturn(0);
+        when(gameService.isGameOver(0L)).thenReturn(false).thenReturn(true);
+        when(gameService.makeMove(eq(0L), anyInt()))
+                .thenReturn(new MoveResult.Applied(BoardSnapshot.of(board, 1), List.of(move), false));
+        when(gameService.getWinnerString(0L)).thenReturn("Player One wins!");
+        when(gameService.getSnapshot(0L)).thenReturn(BoardSnapshot.of(board, 1));
 
-        mockMvc.perform(post("/demo"))
+        final MvcResult result = mockMvc.perform(post("/demo"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.currentPlayer").value(board.getCurrentPlayer().toString()))
-                .andExpect(jsonPath("$.moves[0].fromPitIndex").value(move.getFromPitIndex()))
-                .andExpect(jsonPath("$.moves[0].toPitIndex").value(move.getToPitIndex()))
+                .andExpect(jsonPath("$.moves[0].fromPitIndex").value(move.fromPitIndex()))
+                .andExpect(jsonPath("$.moves[0].toPitIndex").value(move.toPitIndex()))
                 .andExpect(jsonPath("$.winner").value("Player One wins!"));
     }
 
@@ -109,4 +181,65 @@ class GameControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(view().name("redirect:/"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void restartGame_withGameId_shouldRedirectToThatGame() throws Exception {
+        mockMvc.perform(post("/restart").param("gameId", "42"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(view().name("redirect:/?gameId=42"));
+
+        verify(gameService).resetGame(42L);
+    }
+
+    @Test
+    void createGame_shouldReturnNewGame() throws Exception {
+        when(gameService.createGame(RuleVariant.CLASSIC)).thenReturn(42L);
+        when(gameService.getSnapshot(42L)).thenReturn(BoardSnapshot.of(new Board(), 0));
+
+        mockMvc.perform(post("/games"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gameId").value(42))
+                .andExpect(jsonPath("$.version").value(0))
+                .andExpect(jsonPath("$.pits[0]").value(6));
+    }
+
+    @Test
+    void createGame_withVariant_shouldUseVariant() throws Exception {
+        when(gameService.createGame(RuleVariant.KALAH)).thenReturn(43L);
+        when(gameService.getSnapshot(43L)).thenReturn(BoardSnapshot.of(new Board(RuleVariant.KALAH), 0));
+
+        mockMvc.perform(post("/games").param("variant", "KALAH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gameId").value(43));
+
+        verify(gameService).createGame(RuleVariant.KALAH);
+    }
+
+    @Test
+    void makeMove_onMissingGame_shouldReturnNotFound() throws Exception {
+        when(gameService.getSnapshot(7L)).thenThrow(new GameNotFoundException(7L));
+
+        mockMvc.perform(post("/move").param("gameId", "7").param("pit", "0"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void undo_shouldReturnPreviousBoard() throws Exception {
+        when(gameService.undo(0L)).thenReturn(BoardSnapshot.of(new Board(), 2));
+
+        mockMvc.perform(post("/undo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2))
+                .andExpect(jsonPath("$.pits[0]").value(6));
+    }
+
+    @Test
+    void redo_withoutUndoneMove_shouldReturnConflict() throws Exception {
+        when(gameService.redo(0L)).thenThrow(new HistoryUnavailableException(0L, "Nothing to redo."));
+
+        mockMvc.perform(post("/redo"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Nothing to redo."));
+    }
+}
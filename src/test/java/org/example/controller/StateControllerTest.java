@@ -0,0 +1,78 @@
+package org.example.controller;
+
+import org.example.service.GameService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StateControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Test
+    void state_shouldReturnBoardWithVersionETag() throws Exception {
+        final long gameId = gameService.createGame();
+
+        mockMvc.perform(get("/state").param("gameId", "" + gameId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.pits", hasSize(14)))
+                .andExpect(jsonPath("$.currentPlayer").value("Player One"));
+    }
+
+    @Test
+    void state_withCurrentVersion_shouldReturnNotModified() throws Exception {
+        final long gameId = gameService.createGame();
+
+        mockMvc.perform(get("/state").param("gameId", "" + gameId).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        gameService.makeMove(gameId, 1);
+
+        mockMvc.perform(get("/state").param("gameId", "" + gameId).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void state_sinceKnownVersion_shouldReturnChangedPits() throws Exception {
+        final long gameId = gameService.createGame();
+        mockMvc.perform(get("/state").param("gameId", "" + gameId)).andExpect(status().isOk());
+
+        gameService.makeMove(gameId, 1);
+
+        mockMvc.perform(get("/state").param("gameId", "" + gameId).param("since", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sinceVersion").value(0))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.changedPits", hasSize(7)))
+                .andExpect(jsonPath("$.changedPits[0]").value(1))
+                .andExpect(jsonPath("$.stones[0]").value(0))
+                .andExpect(jsonPath("$.pits").doesNotExist());
+    }
+
+    @Test
+    void state_sinceUnknownVersion_shouldReturnFullState() throws Exception {
+        final long gameId = gameService.createGame();
+
+        mockMvc.perform(get("/state").param("gameId", "" + gameId).param("since", "41"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pits", hasSize(14)))
+                .andExpect(jsonPath("$.changedPits").doesNotExist());
+    }
+}
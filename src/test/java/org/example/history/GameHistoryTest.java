@@ -0,0 +1,102 @@
+package org.example.history;
+
+import org.example.archive.GameRecord;
+import org.example.model.Board;
+import org.example.rules.RuleVariant;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameHistoryTest {
+
+    @Test
+    void testEveryPlyMatchesReplay() {
+        final GameRecord record = randomGame(new Random(11), RuleVariant.KALAH);
+        final GameHistory history = GameHistory.of(record, 4);
+        final Board board = record.newBoard();
+
+        assertEquals(record.pickedPits().length, history.getLastPly());
+
+        for (int ply = 0; ply <= record.pickedPits().length; ply++) {
+            final Board seeked = history.boardAt(ply);
+
+            assertArrayEquals(board.getPits(), seeked.getPits(), "ply " + ply);
+            assertEquals(board.getCurrentPlayer(), seeked.getCurrentPlayer(), "ply " + ply);
+
+            if (ply < record.pickedPits().length) {
+                assertEquals(record.pickedPits()[ply], history.getPickedPit(ply));
+                board.moveStones(record.pickedPits()[ply]);
+            }
+        }
+    }
+
+    @Test
+    void testRecordingAfterUndoDiscardsLaterPlies() {
+        final Board board = new Board();
+        final GameHistory history = new GameHistory(board, 2, Long.MAX_VALUE);
+
+        for (final int pit : new int[]{1, 8, 2}) {
+            board.moveStones(pit);
+            history.record(pit, board);
+        }
+
+        history.moveTo(1);
+        final Board branch = history.boardAt(1);
+        branch.moveStones(9);
+        history.record(9, branch);
+
+        assertEquals(2, history.getPly());
+        assertEquals(2, history.getLastPly());
+        assertArrayEquals(branch.getPits(), history.boardAt(2).getPits());
+        assertThrows(IllegalArgumentException.class, () -> history.boardAt(3));
+    }
+
+    @Test
+    void testMemoryLimitForgetsOldestPlies() {
+        final GameRecord record = randomGame(new Random(5), RuleVariant.CLASSIC);
+        final Board board = record.newBoard();
+        final GameHistory history = new GameHistory(board, 4, 80);
+
+        for (final int pit : record.pickedPits()) {
+            board.moveStones(pit);
+            history.record(pit, board);
+        }
+
+        assertTrue(history.getFirstPly() > 0);
+        assertEquals(0, history.getFirstPly() % 4);
+        assertTrue(history.getMemoryBytes() <= 80, "used " + history.getMemoryBytes());
+        assertArrayEquals(board.getPits(), history.boardAt(history.getLastPly()).getPits());
+        assertThrows(IllegalArgumentException.class, () -> history.boardAt(history.getFirstPly() - 1));
+    }
+
+    @Test
+    void testCheckpointsAreCompact() {
+        final GameHistory history = GameHistory.of(randomGame(new Random(2), RuleVariant.CLASSIC), 16);
+
+        final int plies = history.getLastPly();
+
+        // Each checkpoint takes one byte for the player and one per pit, each picked pit at most four with spare room.
+        assertTrue(history.getMemoryBytes() <= 4L * plies + 15L * (plies / 16 + 1));
+    }
+
+    private static GameRecord randomGame(final Random random, final RuleVariant variant) {
+        final Board board = new Board(variant);
+        final int[] pickedPits = new int[1_000];
+        int count = 0;
+
+        while (!board.isGameOver()) {
+            final int[] legalPits = board.getPlayersPitsIndicesRange(board.getCurrentPlayer())
+                    .filter(i -> board.getPits()[i] > 0).toArray();
+            final int pit = legalPits[random.nextInt(legalPits.length)];
+
+            board.moveStones(pit);
+            pickedPits[count++] = pit;
+        }
+
+        return new GameRecord(board.getNumberOfPitsPerPlayer(), board.getStonesPerPit(), variant,
+                Arrays.copyOf(pickedPits, count));
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records latencies in log-linear buckets, like an HDR histogram with two significant digits.
+ * <p>
+ * Values below 128 ns are exact. Above that, every power of two is split into 64 buckets, so a reported
+ * percentile is at most about 1.6 % above the real value. Recording is lock-free and allocation-free.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    long getCount() {
+        return totalCount.sum();
+    }
+
+    long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    double getMeanNanos() {
+        final long count = getCount();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * Gets the latency below which the given share of the recorded latencies fall.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the highest latency of the bucket holding the percentile, in nanoseconds
+     */
+    long getPercentileNanos(final double percentile) {
+        final long count = getCount();
+
+        if (count == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            seen += counts.get(index);
+
+            if (seen >= target) {
+                return Math.min(highestValueOf(index), getMaxNanos());
+            }
+        }
+
+        return getMaxNanos();
+    }
+
+    static int indexOf(final long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    static long highestValueOf(final int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long mantissa = index - (long) shift * SUB_BUCKET_COUNT;
+
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
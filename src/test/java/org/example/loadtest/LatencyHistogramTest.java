@@ -0,0 +1,41 @@
+package org.example.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverValues() {
+        for (long value : new long[]{0, 1, 127, 128, 129, 1_000, 65_535, 1_000_000, 123_456_789_012L, Long.MAX_VALUE}) {
+            final int index = LatencyHistogram.indexOf(value);
+
+            assertTrue(LatencyHistogram.highestValueOf(index) >= value, "Bucket of " + value + " ends too early");
+            assertTrue(index == 0 || LatencyHistogram.highestValueOf(index - 1) < value, "Bucket of " + value + " starts too late");
+        }
+    }
+
+    @Test
+    void testPercentilesArePrecise() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int millis = 1; millis <= 1_000; millis++) {
+            histogram.record(millis * 1_000_000L);
+        }
+
+        assertEquals(1_000, histogram.getCount());
+        assertEquals(500_000_000, histogram.getPercentileNanos(50), 500_000_000 * 0.016);
+        assertEquals(990_000_000, histogram.getPercentileNanos(99), 990_000_000 * 0.016);
+        assertEquals(1_000_000_000, histogram.getPercentileNanos(100));
+        assertEquals(500_500_000, histogram.getMeanNanos(), 1);
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getPercentileNanos(99));
+        assertEquals(0, histogram.getMeanNanos());
+    }
+}
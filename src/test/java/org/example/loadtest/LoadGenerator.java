@@ -0,0 +1,279 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.MancalaGameApplication;
+import org.example.controller.GameControllerResponse;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulates concurrent players against the game endpoints and reports throughput and latency percentiles.
+ * <p>
+ * Every virtual player runs on its own virtual thread and plays its own game. It keeps the board from the
+ * last response, picks a random legal pit of the current player and sends it with the version of the board
+ * it picked on. Now and then it asks for a demo or restarts the game, and it restarts whenever the game is over.
+ * <p>
+ * Unless a base URL is given, the application is started on a random local port, so the load test runs
+ * offline. Options are passed as {@code --name=value}:
+ * <ul>
+ *     <li>{@code base-url}: the running application to test, started locally if missing</li>
+ *     <li>{@code players}: the number of concurrent virtual players, 1000 by default</li>
+ *     <li>{@code duration-seconds}: how long to measure, 30 by default</li>
+ *     <li>{@code warmup-seconds}: how long to run before measuring, 5 by default</li>
+ *     <li>{@code demo-percent} and {@code restart-percent}: the share of demo and restart requests, 1 by default</li>
+ *     <li>{@code max-move-p99-millis}: fails the run if the p99 latency of {@code /move} is higher</li>
+ * </ul>
+ * Run it with {@code mvn -Pload-test verify} or directly from the test classpath.
+ */
+public final class LoadGenerator {
+    private static final String GAMES = "/games";
+    private static final String MOVE = "/move";
+    private static final String DEMO = "/demo";
+    private static final String RESTART = "/restart";
+    private static final String PLAYER_ONE = "Player One";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final String baseUrl;
+    private final int demoPercent;
+    private final int restartPercent;
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private LoadGenerator(final String baseUrl, final int demoPercent, final int restartPercent) {
+        this.baseUrl = baseUrl;
+        this.demoPercent = demoPercent;
+        this.restartPercent = restartPercent;
+
+        stats.put(GAMES, new EndpointStats());
+        stats.put(MOVE, new EndpointStats());
+        stats.put(DEMO, new EndpointStats());
+        stats.put(RESTART, new EndpointStats());
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        final Map<String, String> options = parseOptions(args);
+        final int players = Integer.parseInt(options.getOrDefault("players", "1000"));
+        final int durationSeconds = Integer.parseInt(options.getOrDefault("duration-seconds", "30"));
+        final int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup-seconds", "5"));
+        final int demoPercent = Integer.parseInt(options.getOrDefault("demo-percent", "1"));
+        final int restartPercent = Integer.parseInt(options.getOrDefault("restart-percent", "1"));
+
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.get("base-url");
+
+        if (baseUrl == null) {
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            application = SpringApplication.run(MancalaGameApplication.class, "--server.port=0", "--logging.level.root=WARN");
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            final LoadGenerator generator = new LoadGenerator(baseUrl, demoPercent, restartPercent);
+            generator.run(players, warmupSeconds, durationSeconds);
+            generator.report(durationSeconds, options.get("max-move-p99-millis"));
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private void run(final int players, final int warmupSeconds, final int durationSeconds) throws InterruptedException {
+        System.out.printf("Running %,d players against %s for %ds after %ds of warmup%n",
+                players, baseUrl, durationSeconds, warmupSeconds);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < players; i++) {
+                executor.execute(new VirtualPlayer());
+            }
+
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            measuring = true;
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            measuring = false;
+            running = false;
+        }
+    }
+
+    private void report(final int durationSeconds, final String maxMoveP99Millis) {
+        System.out.printf("%-9s %10s %9s %8s %9s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "conflicts", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        stats.forEach((endpoint, endpointStats) -> {
+            final LatencyHistogram latencies = endpointStats.latencies;
+
+            System.out.printf("%-9s %,10d %,9.0f %,8d %,9d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint, latencies.getCount(), (double) latencies.getCount() / durationSeconds,
+                    endpointStats.errors.sum(), endpointStats.conflicts.sum(), latencies.getMeanNanos() / 1e6,
+                    millis(latencies, 50), millis(latencies, 90), millis(latencies, 99), millis(latencies, 99.9),
+                    latencies.getMaxNanos() / 1e6);
+        });
+
+        if (maxMoveP99Millis != null && millis(stats.get(MOVE).latencies, 99) > Double.parseDouble(maxMoveP99Millis)) {
+            throw new IllegalStateException("The p99 latency of %s is above %s ms.".formatted(MOVE, maxMoveP99Millis));
+        }
+    }
+
+    private static double millis(final LatencyHistogram latencies, final double percentile) {
+        return latencies.getPercentileNanos(percentile) / 1e6;
+    }
+
+    private static Map<String, String> parseOptions(final String[] args) {
+        final Map<String, String> options = new HashMap<>();
+
+        for (final String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options must look like --name=value, got " + arg);
+            }
+
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        return options;
+    }
+
+    /**
+     * Counts the requests of one endpoint.
+     */
+    private static final class EndpointStats {
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+    }
+
+    /**
+     * Plays the game in a loop until the load test ends.
+     */
+    private final class VirtualPlayer implements Runnable {
+        // Every player keeps its own session, so it is its own client for the per-client admission limits.
+        private String sessionCookie;
+        private long gameId = -1;
+        private long version = -1;
+        private int[] pits;
+        private String currentPlayer = PLAYER_ONE;
+
+        @Override
+        public void run() {
+            while (running) {
+                if (gameId < 0) {
+                    send(GAMES, "");
+                    continue;
+                } else if (pits == null) {
+                    // A move on a version that never exists is always a conflict, which tells the player the board.
+                    send(MOVE, "?gameId=%d&pit=0&version=-1".formatted(gameId));
+                    continue;
+                }
+
+                final int roll = ThreadLocalRandom.current().nextInt(100);
+                final int pit = pickLegalPit();
+
+                if (roll < demoPercent) {
+                    send(DEMO, "?gameId=%d".formatted(gameId));
+                } else if (roll < demoPercent + restartPercent || pit < 0) {
+                    send(RESTART, "?gameId=%d".formatted(gameId));
+                    pits = null;
+                } else {
+                    send(MOVE, "?gameId=%d&pit=%d&version=%d".formatted(gameId, pit, version));
+                }
+            }
+        }
+
+        private int pickLegalPit() {
+            final int pitsPerPlayer = (pits.length - 2) / 2;
+            final int first = PLAYER_ONE.equals(currentPlayer) ? 0 : pitsPerPlayer + 1;
+            final int start = ThreadLocalRandom.current().nextInt(pitsPerPlayer);
+
+            for (int i = 0; i < pitsPerPlayer; i++) {
+                final int pit = first + (start + i) % pitsPerPlayer;
+
+                if (pits[pit] > 0) {
+                    return pit;
+                }
+            }
+
+            return -1;
+        }
+
+        private void send(final String endpoint, final String query) {
+            final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + endpoint + query))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofSeconds(30));
+
+            if (sessionCookie != null) {
+                builder.header("Cookie", sessionCookie);
+            }
+
+            final HttpRequest request = builder.build();
+            final EndpointStats endpointStats = stats.get(endpoint);
+            final long start = System.nanoTime();
+
+            try {
+                final HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                final long latency = System.nanoTime() - start;
+                final boolean success = response.statusCode() < 400;
+
+                response.headers().firstValue("Set-Cookie")
+                        .ifPresent(cookie -> sessionCookie = cookie.substring(0, (cookie + ";").indexOf(';')));
+
+                if (measuring) {
+                    endpointStats.latencies.record(latency);
+
+                    if (!success) {
+                        endpointStats.errors.increment();
+                    }
+                }
+
+                if (success && response.statusCode() == 200) {
+                    update(endpointStats, objectMapper.readValue(response.body(), GameControllerResponse.class));
+                }
+            } catch (IOException e) {
+                if (measuring) {
+                    endpointStats.errors.increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+
+        private void update(final EndpointStats endpointStats, final GameControllerResponse response) {
+            if (measuring && response.isConflict()) {
+                endpointStats.conflicts.increment();
+            } else if (measuring && response.getError() != null) {
+                endpointStats.errors.increment();
+            }
+
+            if (response.getPits() != null) {
+                gameId = response.getGameId();
+                pits = response.getPits();
+                version = response.getVersion();
+                currentPlayer = response.getCurrentPlayer();
+            } else if (response.getError() != null) {
+                // The board moved on without telling us, so learn it again on the next move.
+                pits = null;
+            }
+        }
+    }
+}
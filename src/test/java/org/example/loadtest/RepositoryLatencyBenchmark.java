@@ -0,0 +1,90 @@
+package org.example.loadtest;
+
+import org.example.model.BoardSnapshot;
+import org.example.repository.EmbeddedSharedStore;
+import org.example.repository.GameRepository;
+import org.example.repository.InMemoryGameRepository;
+import org.example.repository.NearCachingGameRepository;
+import org.example.repository.SharedStoreGameRepository;
+import org.example.service.GameService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Measures the latency a {@link GameRepository} backend adds to a move.
+ * <p>
+ * Every backend plays the same number of versioned moves on many games through a {@link GameService}.
+ * The shared store is the embedded stand-in, so the numbers show the cost of serialization, copying and the
+ * version checks; a networked store adds its round trips on top. Run it with
+ * {@code java -cp target/classes:target/test-classes org.example.loadtest.RepositoryLatencyBenchmark}.
+ */
+public final class RepositoryLatencyBenchmark {
+    private static final int GAMES = 1_000;
+    private static final int MOVES = 2_000_000;
+
+    private RepositoryLatencyBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        final Map<String, Supplier<GameRepository>> backends = Map.of(
+                "memory", InMemoryGameRepository::new,
+                "shared", () -> new SharedStoreGameRepository(new EmbeddedSharedStore()),
+                "shared+near-cache", () -> new NearCachingGameRepository(
+                        new SharedStoreGameRepository(new EmbeddedSharedStore()), 200, 100_000));
+
+        for (int round = 1; round <= 2; round++) {
+            for (final String backend : List.of("memory", "shared", "shared+near-cache")) {
+                final LatencyHistogram latencies = play(new GameService(backends.get(backend).get(), List.of()));
+
+                System.out.printf("round %d %-18s mean %6.0f ns  p50 %6d ns  p99 %7d ns  p99.9 %8d ns%n", round, backend,
+                        latencies.getMeanNanos(), latencies.getPercentileNanos(50), latencies.getPercentileNanos(99),
+                        latencies.getPercentileNanos(99.9));
+            }
+        }
+    }
+
+    private static LatencyHistogram play(final GameService gameService) {
+        final long[] gameIds = new long[GAMES];
+        final LatencyHistogram latencies = new LatencyHistogram();
+
+        for (int i = 0; i < GAMES; i++) {
+            gameIds[i] = gameService.createGame();
+        }
+
+        for (int i = 0; i < MOVES; i++) {
+            final long gameId = gameIds[i % GAMES];
+            final BoardSnapshot snapshot = gameService.getSnapshot(gameId);
+
+            if (snapshot.isGameOver()) {
+                gameService.resetGame(gameId);
+                continue;
+            }
+
+            final int pit = legalPit(snapshot);
+            final long start = System.nanoTime();
+            gameService.makeMove(gameId, pit, snapshot.getVersion());
+            latencies.record(System.nanoTime() - start);
+        }
+
+        return latencies;
+    }
+
+    private static int legalPit(final BoardSnapshot snapshot) {
+        final int pitsPerPlayer = snapshot.getNumberOfPitsPerPlayer();
+        final int first = snapshot.getCurrentPlayer().isPlayerOne() ? 0 : pitsPerPlayer + 1;
+        final int start = ThreadLocalRandom.current().nextInt(pitsPerPlayer);
+
+        for (int i = 0; i < pitsPerPlayer; i++) {
+            final int pit = first + (start + i) % pitsPerPlayer;
+
+            if (snapshot.getStonesInPit(pit) > 0) {
+                return pit;
+            }
+        }
+
+        throw new IllegalStateException("A game that is not over must have a legal move.");
+    }
+}
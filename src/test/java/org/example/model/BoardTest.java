@@ -2,6 +2,7 @@ package org.example.model;
 
 import org.example.exception.GameLogicException;
 import org.example.exception.ErrorCode;
+import org.example.rules.RuleVariant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -189,4 +190,91 @@ class BoardTest {
         board.setCurrentPlayer(Player.TWO);
         assertDoesNotThrow(() -> board.throwIfInvalidMove(board.getPits().length - Board.PLAYER_COUNT));
     }
+
+    @Test
+    void testClassicSowsIntoOpponentStore() {
+        board.getPits()[5] = 8;
+
+        final List<Move> moves = board.moveStones(5);
+
+        assertEquals(new Move(5, 13), moves.get(moves.size() - 1));
+        assertEquals(1, board.getStoredStonesCountForPlayer(Player.TWO));
+    }
+
+    @Test
+    void testSkipOpponentStore() {
+        final Board skipping = new Board(RuleVariant.SKIP_OPPONENT_STORE);
+        skipping.getPits()[5] = 8;
+
+        final List<Move> moves = skipping.moveStones(5);
+
+        assertEquals(new Move(5, 0), moves.get(moves.size() - 1));
+        assertEquals(0, skipping.getStoredStonesCountForPlayer(Player.TWO));
+        assertEquals(7, skipping.getStonesInPit(0));
+    }
+
+    @Test
+    void testKalahCapture() {
+        final Board kalah = new Board(RuleVariant.KALAH);
+        kalah.getPits()[1] = 1;
+        kalah.getPits()[2] = 0;
+
+        final List<Move> moves = kalah.moveStones(1);
+
+        assertEquals(new Move(1, 2), moves.get(0));
+        assertEquals(6, moves.stream().filter(move -> move.equals(new Move(10, 6))).count());
+        assertEquals(new Move(2, 6), moves.get(moves.size() - 1));
+        assertEquals(0, kalah.getStonesInPit(2));
+        assertEquals(0, kalah.getStonesInPit(10));
+        assertEquals(7, kalah.getStoredStonesCountForPlayer(Player.ONE));
+        assertEquals(Player.TWO, kalah.getCurrentPlayer());
+        assertEquals(61, kalah.getTotalStonesCount(), "Captured stones must not be lost");
+    }
+
+    @Test
+    void testClassicDoesNotCapture() {
+        board.getPits()[1] = 1;
+        board.getPits()[2] = 0;
+
+        board.moveStones(1);
+
+        assertEquals(1, board.getStonesInPit(2));
+        assertEquals(6, board.getStonesInPit(10));
+    }
+
+    @Test
+    void testCaptureFromEmptyPitDependsOnVariant() {
+        final Board kalah = new Board(RuleVariant.KALAH);
+        final Board emptyCapture = new Board(RuleVariant.EMPTY_CAPTURE);
+
+        for (final Board variantBoard : List.of(kalah, emptyCapture)) {
+            variantBoard.getPits()[1] = 1;
+            variantBoard.getPits()[2] = 0;
+            variantBoard.getPits()[10] = 0;
+            variantBoard.moveStones(1);
+        }
+
+        assertEquals(1, kalah.getStonesInPit(2));
+        assertEquals(0, kalah.getStoredStonesCountForPlayer(Player.ONE));
+        assertEquals(0, emptyCapture.getStonesInPit(2));
+        assertEquals(1, emptyCapture.getStoredStonesCountForPlayer(Player.ONE));
+    }
+
+    @Test
+    void testRestoredBoardKeepsVariant() {
+        final Board restored = new Board(6, 6, board.getPits(), Player.TWO, RuleVariant.KALAH);
+
+        assertEquals(RuleVariant.KALAH, restored.getVariant());
+        assertEquals(RuleVariant.CLASSIC, board.getVariant());
+    }
+
+    @Test
+    void testUnsupportedSizeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Board(0, 6));
+        assertThrows(IllegalArgumentException.class, () -> new Board(6, Board.MAX_STONES_PER_PIT + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Board(Board.MAX_NUMBER_OF_PITS_PER_PLAYER + 1, 6, new int[0], Player.ONE));
+        assertEquals(Board.MAX_NUMBER_OF_PITS_PER_PLAYER * 2 + 2,
+                new Board(Board.MAX_NUMBER_OF_PITS_PER_PLAYER, Board.MAX_STONES_PER_PIT).getPits().length);
+    }
 }
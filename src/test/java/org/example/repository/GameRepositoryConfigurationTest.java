@@ -0,0 +1,47 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRepositoryConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(GameRepositoryConfiguration.class);
+
+    @Test
+    void testMemoryRepositoryIsTheDefault() {
+        contextRunner.run(context ->
+                assertInstanceOf(InMemoryGameRepository.class, context.getBean(GameRepository.class)));
+    }
+
+    @Test
+    void testOffHeapRepositoryIsSelectable() {
+        contextRunner.withPropertyValues("mancala.repository.type=off-heap").run(context ->
+                assertInstanceOf(OffHeapIdleGameRepository.class, context.getBean(GameRepository.class)));
+    }
+
+    @Test
+    void testSharedRepositoryUsesTheSharedStoreBean() {
+        contextRunner.withPropertyValues("mancala.repository.type=shared", "mancala.repository.near-cache.enabled=false")
+                .withBean(SharedStore.class, EmbeddedSharedStore::new)
+                .run(context ->
+                        assertInstanceOf(SharedStoreGameRepository.class, context.getBean(GameRepository.class)));
+    }
+
+    @Test
+    void testSharedRepositoryWithoutSharedStoreFailsStartup() {
+        contextRunner.withPropertyValues("mancala.repository.type=shared").run(context -> {
+            assertNotNull(context.getStartupFailure());
+            Throwable cause = context.getStartupFailure();
+
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+
+            assertInstanceOf(IllegalStateException.class, cause);
+            assertTrue(cause.getMessage().contains("SharedStore"));
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdleGameIndexTest {
+
+    @Test
+    void testMatchesAHashMapUnderRandomChanges() {
+        final IdleGameIndex index = new IdleGameIndex();
+        final Map<Long, Long> expected = new HashMap<>();
+        final Random random = new Random(11);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Few distinct ids, so probe sequences collide and removals shift entries back.
+            final long gameId = random.nextInt(5_000) - 100;
+
+            if (random.nextBoolean()) {
+                index.put(gameId, i, -i);
+                expected.put(gameId, (long) i);
+            } else {
+                final int slot = index.find(gameId);
+                assertEquals(expected.containsKey(gameId), slot >= 0);
+
+                if (slot >= 0) {
+                    assertEquals(expected.remove(gameId), index.getVersion(slot));
+                    assertEquals(-index.getVersion(slot), index.getLocation(slot));
+                    index.remove(slot);
+                }
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        expected.forEach((gameId, version) -> assertEquals(version, index.getVersion(index.find(gameId))));
+    }
+
+    @Test
+    void testReservedIdIsRejected() {
+        final IdleGameIndex index = new IdleGameIndex();
+
+        assertThrows(IllegalArgumentException.class, () -> index.put(IdleGameIndex.NO_GAME, 0, 0));
+        assertEquals(-1, index.find(IdleGameIndex.NO_GAME));
+    }
+}
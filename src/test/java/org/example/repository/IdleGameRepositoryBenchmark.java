@@ -0,0 +1,91 @@
+package org.example.repository;
+
+import org.example.model.Board;
+import org.example.model.BoardSnapshot;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares holding idle games in the {@link InMemoryGameRepository} with the {@link OffHeapIdleGameRepository}
+ * after its sweep moved them off the heap.
+ * <p>
+ * For each repository it reports the bytes used per game, on and off the heap, and the time spent in full
+ * collections while the games are held. Run it with a fixed heap so the numbers are comparable, e.g.
+ * {@code java -Xmx4g -cp target/classes:target/test-classes:<dependencies>
+ * org.example.repository.IdleGameRepositoryBenchmark 1000000}.
+ */
+public final class IdleGameRepositoryBenchmark {
+    private static final int DEFAULT_GAMES = 1_000_000;
+    private static final int FULL_COLLECTIONS = 5;
+
+    private IdleGameRepositoryBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+
+        System.out.printf("Storing %,d idle games%n", games);
+
+        final long baseline = usedHeapAfterCollection();
+        GameRepository heap = new InMemoryGameRepository();
+        fill(heap, games);
+        report("memory", games, usedHeapAfterCollection() - baseline);
+        heap = null;
+
+        final long offHeapBaseline = usedHeapAfterCollection();
+        final AtomicLong now = new AtomicLong();
+
+        try (OffHeapIdleGameRepository offHeap = new OffHeapIdleGameRepository(1, now::get)) {
+            fill(offHeap, games);
+            now.addAndGet(1);
+            offHeap.sweep();
+
+            final long onHeap = usedHeapAfterCollection() - offHeapBaseline;
+
+            report("off-heap", offHeap.getIdleGameCount(), onHeap + offHeap.getOffHeapBytes());
+            System.out.printf("%-8s %,12d bytes on the heap, %,d bytes off the heap%n",
+                    "", onHeap, offHeap.getOffHeapBytes());
+        }
+    }
+
+    private static void fill(final GameRepository repository, final int games) {
+        for (int i = 0; i < games; i++) {
+            final Board board = new Board();
+            final BoardSnapshot first = BoardSnapshot.of(board, 0);
+            final int pit = i % 6;
+
+            repository.create(i + 1L, first);
+            repository.replace(i + 1L, first, first.next(board, pit, board.moveStones(pit)));
+        }
+    }
+
+    private static void report(final String tier, final int games, final long bytes) {
+        final long pauseMillis = fullCollectionMillis();
+
+        System.out.printf("%-8s %,12d bytes  %6.1f bytes/game  %5d ms in %d full collections%n",
+                tier, bytes, (double) bytes / games, pauseMillis, FULL_COLLECTIONS);
+    }
+
+    private static long fullCollectionMillis() {
+        final long before = totalCollectionMillis();
+
+        for (int i = 0; i < FULL_COLLECTIONS; i++) {
+            System.gc();
+        }
+
+        return totalCollectionMillis() - before;
+    }
+
+    private static long usedHeapAfterCollection() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long totalCollectionMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+}
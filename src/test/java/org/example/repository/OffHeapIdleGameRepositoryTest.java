@@ -0,0 +1,126 @@
+package org.example.repository;
+
+import org.example.model.Board;
+import org.example.model.BoardSnapshot;
+import org.example.rules.RuleVariant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapIdleGameRepositoryTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final OffHeapIdleGameRepository repository = new OffHeapIdleGameRepository(1_000, now::get);
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void testIdleGameIsMovedOffHeapAndRestored() {
+        final BoardSnapshot first = BoardSnapshot.of(new Board(RuleVariant.KALAH), 0);
+        final Board board = first.toBoard();
+        final BoardSnapshot played = first.next(board, 2, board.moveStones(2));
+        repository.create(1, first);
+        assertTrue(repository.replace(1, first, played));
+
+        now.addAndGet(1_000);
+        repository.sweep();
+
+        assertEquals(1, repository.getIdleGameCount());
+
+        final BoardSnapshot restored = repository.find(1).orElseThrow();
+
+        assertEquals(0, repository.getIdleGameCount());
+        assertEquals(played.getVersion(), restored.getVersion());
+        assertEquals(2, restored.getLastPickedPit());
+        assertArrayEquals(played.getPits(), restored.getPits());
+        assertEquals(played.getCurrentPlayer(), restored.getCurrentPlayer());
+        assertEquals(RuleVariant.KALAH, restored.toBoard().getVariant());
+    }
+
+    @Test
+    void testRecentlyUsedGameStaysOnHeap() {
+        repository.create(1, BoardSnapshot.of(new Board(), 0));
+        repository.create(2, BoardSnapshot.of(new Board(), 0));
+
+        now.addAndGet(600);
+        repository.find(2);
+        now.addAndGet(600);
+        repository.sweep();
+
+        assertEquals(1, repository.getIdleGameCount());
+        assertTrue(repository.find(1).isPresent());
+        assertEquals(0, repository.getIdleGameCount());
+    }
+
+    @Test
+    void testReplaceOfIdleGameChecksTheVersion() {
+        final BoardSnapshot first = BoardSnapshot.of(new Board(), 0);
+        final BoardSnapshot second = BoardSnapshot.of(new Board(), 1);
+        repository.create(1, first);
+
+        now.addAndGet(1_000);
+        repository.sweep();
+
+        assertFalse(repository.replace(1, second, BoardSnapshot.of(new Board(), 2)));
+        repository.sweep();
+        assertTrue(repository.replace(1, first, second));
+        assertEquals(1, repository.find(1).orElseThrow().getVersion());
+        assertFalse(repository.replace(2, first, second));
+        assertFalse(repository.find(2).isPresent());
+    }
+
+    @Test
+    void testConcurrentChangesSurviveSweeps() throws Exception {
+        final int games = 64;
+        final int changesPerGame = 200;
+
+        for (int gameId = 0; gameId < games; gameId++) {
+            repository.create(gameId, BoardSnapshot.of(new Board(), 0));
+        }
+
+        final Thread sweeper = Thread.ofPlatform().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                now.addAndGet(1_000);
+                repository.sweep();
+            }
+        });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            final List<Future<?>> players = new ArrayList<>();
+
+            for (int gameId = 0; gameId < games; gameId++) {
+                final long id = gameId;
+
+                players.add(executor.submit(() -> {
+                    for (int i = 0; i < changesPerGame; i++) {
+                        final BoardSnapshot current = repository.find(id).orElseThrow();
+                        assertTrue(repository.replace(id, current, BoardSnapshot.of(new Board(), i + 1)));
+                    }
+                }));
+            }
+
+            for (final Future<?> player : players) {
+                player.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            sweeper.interrupt();
+            sweeper.join();
+        }
+
+        for (int gameId = 0; gameId < games; gameId++) {
+            assertEquals(changesPerGame, repository.find(gameId).orElseThrow().getVersion());
+        }
+    }
+}
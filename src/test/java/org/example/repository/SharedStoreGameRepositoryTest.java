@@ -0,0 +1,91 @@
+package org.example.repository;
+
+import org.example.model.Board;
+import org.example.model.BoardSnapshot;
+import org.example.model.Move;
+import org.example.model.Player;
+import org.example.rules.RuleVariant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedStoreGameRepositoryTest {
+
+    @Test
+    void testCodecRoundTrip() {
+        final Board board = new Board();
+        final BoardSnapshot first = BoardSnapshot.of(board, 41);
+        final List<Move> moves = board.moveStones(3);
+        final BoardSnapshot snapshot = first.next(board, 3, moves);
+
+        final byte[] bytes = BoardSnapshotCodec.encode(snapshot);
+        final BoardSnapshot decoded = BoardSnapshotCodec.decode(bytes);
+
+        assertEquals(42, decoded.getVersion());
+        assertArrayEquals(snapshot.getPits(), decoded.getPits());
+        assertEquals(snapshot.getCurrentPlayer(), decoded.getCurrentPlayer());
+        assertEquals(moves, decoded.getLastMoves());
+        assertTrue(decoded.isResultOf(41, 3));
+        assertTrue(bytes.length < 32, "A 6x6 snapshot should take less than 32 bytes");
+    }
+
+    @Test
+    void testCodecRoundTripWithCapture() {
+        final Board board = new Board(RuleVariant.KALAH);
+        board.getPits()[1] = 1;
+        board.getPits()[2] = 0;
+        final List<Move> moves = board.moveStones(1);
+        final BoardSnapshot snapshot = BoardSnapshot.of(board, 0).next(board, 1, moves);
+
+        final BoardSnapshot decoded = BoardSnapshotCodec.decode(BoardSnapshotCodec.encode(snapshot));
+
+        assertEquals(RuleVariant.KALAH, decoded.getVariant());
+        assertEquals(Player.TWO, decoded.getCurrentPlayer());
+        assertEquals(moves, decoded.getLastMoves());
+        assertArrayEquals(snapshot.getPits(), decoded.getPits());
+    }
+
+    @Test
+    void testReplaceChecksVersion() {
+        final SharedStoreGameRepository repository = new SharedStoreGameRepository(new EmbeddedSharedStore());
+        final BoardSnapshot first = BoardSnapshot.of(new Board(), 0);
+        final BoardSnapshot second = BoardSnapshot.of(new Board(), 1);
+
+        assertTrue(repository.create(1, first));
+        assertFalse(repository.create(1, first));
+        assertTrue(repository.replace(1, first, second));
+        assertFalse(repository.replace(1, first, second), "A stale write must be rejected");
+        assertEquals(1, repository.find(1).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testNearCacheIsRefreshedAfterFailedWrite() {
+        final EmbeddedSharedStore store = new EmbeddedSharedStore();
+        final GameRepository nodeA = new NearCachingGameRepository(new SharedStoreGameRepository(store), 60_000, 100);
+        final GameRepository nodeB = new NearCachingGameRepository(new SharedStoreGameRepository(store), 60_000, 100);
+        final BoardSnapshot first = BoardSnapshot.of(new Board(), 0);
+        nodeA.create(1, first);
+
+        final BoardSnapshot cachedOnB = nodeB.find(1).orElseThrow();
+        assertTrue(nodeA.replace(1, first, BoardSnapshot.of(new Board(), 1)));
+
+        assertEquals(0, nodeB.find(1).orElseThrow().getVersion(), "Node B reads from its cache");
+        assertFalse(nodeB.replace(1, cachedOnB, BoardSnapshot.of(new Board(), 1)));
+        assertEquals(1, nodeB.find(1).orElseThrow().getVersion(), "A failed write evicts the stale entry");
+    }
+
+    @Test
+    void testNearCacheStaysBounded() {
+        final GameRepository repository = new NearCachingGameRepository(new InMemoryGameRepository(), 60_000, 2);
+
+        for (long gameId = 0; gameId < 10; gameId++) {
+            repository.create(gameId, BoardSnapshot.of(new Board(), 0));
+        }
+
+        for (long gameId = 0; gameId < 10; gameId++) {
+            assertTrue(repository.find(gameId).isPresent());
+        }
+    }
+}
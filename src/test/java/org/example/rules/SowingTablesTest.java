@@ -0,0 +1,64 @@
+package org.example.rules;
+
+import org.example.model.Player;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SowingTablesTest {
+
+    @Test
+    void testTablesAreSharedPerConfiguration() {
+        assertSame(SowingTables.of(6, RuleVariant.KALAH), SowingTables.of(6, RuleVariant.KALAH));
+        assertNotSame(SowingTables.of(6, RuleVariant.KALAH), SowingTables.of(6, RuleVariant.CLASSIC));
+        assertNotSame(SowingTables.of(6, RuleVariant.KALAH), SowingTables.of(4, RuleVariant.KALAH));
+    }
+
+    @Test
+    void testClassicSowsIntoEveryPit() {
+        final SowingTables tables = SowingTables.of(6, RuleVariant.CLASSIC);
+
+        assertEquals(13, tables.getNextPit(Player.ONE, 12));
+        assertEquals(0, tables.getNextPit(Player.ONE, 13));
+        assertEquals(6, tables.getNextPit(Player.TWO, 5));
+        assertEquals(SowingTables.NO_CAPTURE, tables.getCaptureThreshold());
+    }
+
+    @Test
+    void testOpponentStoreIsSkipped() {
+        final SowingTables tables = SowingTables.of(6, RuleVariant.SKIP_OPPONENT_STORE);
+
+        assertEquals(0, tables.getNextPit(Player.ONE, 12));
+        assertEquals(6, tables.getNextPit(Player.ONE, 5));
+        assertEquals(7, tables.getNextPit(Player.TWO, 5));
+        assertEquals(13, tables.getNextPit(Player.TWO, 12));
+    }
+
+    @Test
+    void testOppositePitsAndOwners() {
+        final SowingTables tables = SowingTables.of(6, RuleVariant.KALAH);
+
+        assertEquals(12, tables.getOppositePit(0));
+        assertEquals(7, tables.getOppositePit(5));
+        assertEquals(0, tables.getOppositePit(12));
+        assertEquals(SowingTables.NO_PIT, tables.getOppositePit(6));
+        assertTrue(tables.isPlayersPit(Player.ONE, 5));
+        assertFalse(tables.isPlayersPit(Player.ONE, 6));
+        assertTrue(tables.isPlayersPit(Player.TWO, 7));
+        assertFalse(tables.isPlayersPit(Player.TWO, 13));
+        assertEquals(6, tables.getStoreIndex(Player.ONE));
+        assertEquals(13, tables.getStoreIndex(Player.TWO));
+    }
+
+    @Test
+    void testCaptureThresholds() {
+        assertEquals(1, SowingTables.of(6, RuleVariant.KALAH).getCaptureThreshold());
+        assertEquals(0, SowingTables.of(6, RuleVariant.EMPTY_CAPTURE).getCaptureThreshold());
+        assertEquals(SowingTables.NO_CAPTURE, SowingTables.of(6, RuleVariant.SKIP_OPPONENT_STORE).getCaptureThreshold());
+    }
+
+    @Test
+    void testInvalidSizeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SowingTables.of(0, RuleVariant.CLASSIC));
+    }
+}
@@ -0,0 +1,236 @@
+package org.example.service;
+
+import org.example.exception.ErrorCode;
+import org.example.exception.GameLogicException;
+import org.example.exception.HistoryUnavailableException;
+import org.example.history.HistoryView;
+import org.example.model.Board;
+import org.example.model.BoardSnapshot;
+import org.example.repository.InMemoryGameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServiceTest {
+
+    private static final long GAME = GameService.DEFAULT_GAME_ID;
+
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService(new InMemoryGameRepository(), List.of());
+    }
+
+    @Test
+    void testVersionedMoveIsApplied() {
+        final MoveResult result = gameService.makeMove(GAME, 0, 0);
+
+        final MoveResult.Applied applied = assertInstanceOf(MoveResult.Applied.class, result);
+        assertFalse(applied.replayed());
+        assertEquals(1, applied.snapshot().getVersion());
+        assertEquals(1, gameService.getVersion(GAME));
+        assertEquals(0, gameService.getSnapshot(GAME).getStonesInPit(0));
+    }
+
+    @Test
+    void testRetriedMoveIsReplayed() {
+        final MoveResult.Applied first = assertInstanceOf(MoveResult.Applied.class, gameService.makeMove(GAME, 0, 0));
+        final MoveResult.Applied retried = assertInstanceOf(MoveResult.Applied.class, gameService.makeMove(GAME, 0, 0));
+
+        assertTrue(retried.replayed());
+        assertEquals(first.moves(), retried.moves());
+        assertEquals(1, gameService.getVersion(GAME), "The retried move must not be applied twice");
+    }
+
+    @Test
+    void testStaleMoveIsAConflict() {
+        gameService.makeMove(GAME, 0, 0);
+
+        final MoveResult result = gameService.makeMove(GAME, 1, 0);
+
+        final MoveResult.Conflict conflict = assertInstanceOf(MoveResult.Conflict.class, result);
+        assertEquals(1, conflict.snapshot().getVersion());
+    }
+
+    @Test
+    void testInvalidMoveOnExpectedVersionThrows() {
+        final GameLogicException exception = assertThrows(GameLogicException.class, () -> gameService.makeMove(GAME, 7, 0));
+
+        assertEquals(ErrorCode.WRONG_PLAYER_TURN, exception.getErrorCode());
+        assertEquals(0, gameService.getVersion(GAME));
+    }
+
+    @Test
+    void testReadersKeepTheirSnapshot() {
+        final BoardSnapshot before = gameService.getSnapshot(GAME);
+
+        gameService.makeMove(GAME, 0);
+
+        assertEquals(6, before.getStonesInPit(0), "A snapshot must never change");
+        assertEquals(0, gameService.getSnapshot(GAME).getStonesInPit(0));
+    }
+
+    @Test
+    void testConcurrentClicksOnSameVersionApplyOnce() throws Exception {
+        final int clicks = 16;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(clicks);
+
+        try {
+            final List<Future<MoveResult>> results = IntStream.range(0, clicks)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return gameService.makeMove(GAME, i % 2 == 0 ? 0 : 1, 0);
+                    }))
+                    .toList();
+
+            start.countDown();
+
+            long applied = 0;
+            for (final Future<MoveResult> result : results) {
+                if (result.get(5, TimeUnit.SECONDS) instanceof MoveResult.Applied a && !a.replayed()) {
+                    applied++;
+                }
+            }
+
+            assertEquals(1, applied);
+            assertEquals(1, gameService.getVersion(GAME));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testResetIncreasesVersion() {
+        gameService.makeMove(GAME, 0);
+        gameService.resetGame(GAME);
+
+        assertEquals(2, gameService.getVersion(GAME));
+        assertEquals(6, gameService.getSnapshot(GAME).getStonesInPit(0));
+    }
+
+    @Test
+    void testUndoAndRedo() {
+        final int[] start = gameService.getSnapshot(GAME).getPits();
+        gameService.makeMove(GAME, 1);
+        final int[] afterMove = gameService.getSnapshot(GAME).getPits();
+
+        final BoardSnapshot undone = gameService.undo(GAME);
+
+        assertArrayEquals(start, undone.getPits());
+        assertEquals(2, undone.getVersion());
+        assertEquals(2, gameService.getVersion(GAME));
+
+        final BoardSnapshot redone = gameService.redo(GAME);
+
+        assertArrayEquals(afterMove, redone.getPits());
+        assertEquals(3, redone.getVersion());
+        assertThrows(HistoryUnavailableException.class, () -> gameService.redo(GAME));
+    }
+
+    @Test
+    void testStaleMoveAfterUndoOrRedoIsAConflict() {
+        gameService.makeMove(GAME, 1);
+        gameService.makeMove(GAME, 8);
+        gameService.undo(GAME);
+
+        // Pit 1 led to the ply the undo went back to, but no move on version 2 was ever applied.
+        final MoveResult afterUndo = gameService.makeMove(GAME, 1, 2);
+
+        assertEquals(3, assertInstanceOf(MoveResult.Conflict.class, afterUndo).snapshot().getVersion());
+
+        gameService.redo(GAME);
+        final MoveResult afterRedo = gameService.makeMove(GAME, 8, 3);
+
+        assertEquals(4, assertInstanceOf(MoveResult.Conflict.class, afterRedo).snapshot().getVersion());
+    }
+
+    @Test
+    void testNewMoveDiscardsRedo() {
+        gameService.makeMove(GAME, 1);
+        gameService.undo(GAME);
+        gameService.makeMove(GAME, 2);
+
+        assertThrows(HistoryUnavailableException.class, () -> gameService.redo(GAME));
+        assertEquals(1, gameService.getHistory(GAME, null).lastPly());
+    }
+
+    @Test
+    void testUndoAtStartIsRejected() {
+        assertThrows(HistoryUnavailableException.class, () -> gameService.undo(GAME));
+
+        gameService.makeMove(GAME, 1);
+        gameService.resetGame(GAME);
+
+        assertThrows(HistoryUnavailableException.class, () -> gameService.undo(GAME));
+    }
+
+    @Test
+    void testHistoryShowsEarlierPly() {
+        final long gameId = gameService.createGame();
+        final int[] start = gameService.getSnapshot(gameId).getPits();
+        gameService.makeMove(gameId, 1);
+        gameService.makeMove(gameId, 8);
+
+        final HistoryView view = gameService.getHistory(gameId, 0);
+
+        assertArrayEquals(start, view.pits());
+        assertEquals(2, view.currentPly());
+        assertTrue(view.memoryBytes() > 0);
+    }
+
+    @Test
+    void testConcurrentMovesKeepTheWholeHistory() throws Exception {
+        final long gameId = gameService.createGame();
+        final AtomicInteger applied = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            final List<Future<?>> players = IntStream.range(0, 8).<Future<?>>mapToObj(i -> executor.submit(() -> {
+                while (!gameService.isGameOver(gameId)) {
+                    final BoardSnapshot snapshot = gameService.getSnapshot(gameId);
+                    final Board board = snapshot.toBoard();
+                    final int pit = board.getPlayersPitsIndicesRange(board.getCurrentPlayer())
+                            .filter(p -> board.getPits()[p] > 0).findFirst().orElse(-1);
+
+                    if (pit >= 0 && gameService.makeMove(gameId, pit, snapshot.getVersion())
+                            instanceof MoveResult.Applied move && !move.replayed()) {
+                        applied.incrementAndGet();
+                    }
+                }
+            })).toList();
+
+            for (final Future<?> player : players) {
+                player.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final HistoryView view = gameService.getHistory(gameId, null);
+
+        assertEquals(0, view.firstPly());
+        assertEquals(applied.get(), view.currentPly());
+    }
+
+    @Test
+    void testCreatedGameIdsAreExactInJavaScript() {
+        for (int i = 0; i < 1_000; i++) {
+            final long gameId = gameService.createGame();
+
+            assertTrue(gameId > 0 && gameId < GameService.MAX_GAME_ID, "Game id out of range: " + gameId);
+            assertEquals(gameId, (long) (double) gameId);
+        }
+    }
+}
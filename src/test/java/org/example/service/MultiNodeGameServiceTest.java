@@ -0,0 +1,101 @@
+package org.example.service;
+
+import org.example.exception.GameNotFoundException;
+import org.example.repository.EmbeddedSharedStore;
+import org.example.repository.NearCachingGameRepository;
+import org.example.repository.SharedStoreGameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs several nodes in one JVM, each with its own near-cache, sharing one embedded store.
+ */
+class MultiNodeGameServiceTest {
+
+    private GameService nodeA;
+    private GameService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        final EmbeddedSharedStore store = new EmbeddedSharedStore();
+
+        nodeA = new GameService(new NearCachingGameRepository(new SharedStoreGameRepository(store), 60_000, 1_000), List.of());
+        nodeB = new GameService(new NearCachingGameRepository(new SharedStoreGameRepository(store), 60_000, 1_000), List.of());
+    }
+
+    @Test
+    void testGameCreatedOnOneNodeIsPlayedOnAnother() {
+        final long gameId = nodeA.createGame();
+
+        final MoveResult first = nodeB.makeMove(gameId, 0, 0);
+        final MoveResult second = nodeA.makeMove(gameId, 1, 1);
+
+        assertInstanceOf(MoveResult.Applied.class, first);
+        assertInstanceOf(MoveResult.Applied.class, second, "Node A must see the newer version the client sends");
+        assertEquals(2, nodeB.makeMove(gameId, 2, 0).snapshot().getVersion());
+    }
+
+    @Test
+    void testRetryOnAnotherNodeIsIdempotent() {
+        final long gameId = nodeA.createGame();
+
+        nodeA.makeMove(gameId, 0, 0);
+        final MoveResult retried = nodeB.makeMove(gameId, 0, 0);
+
+        assertTrue(assertInstanceOf(MoveResult.Applied.class, retried).replayed());
+        assertEquals(1, nodeA.getSnapshot(gameId).getVersion());
+    }
+
+    @Test
+    void testHistoryStartsOverAfterAMoveOnAnotherNode() {
+        final long gameId = nodeA.createGame();
+
+        nodeB.makeMove(gameId, 1, 0);
+        final int[] afterOtherNode = nodeB.getSnapshot(gameId).getPits();
+        nodeA.makeMove(gameId, 8, 1);
+
+        assertArrayEquals(afterOtherNode, nodeA.undo(gameId).getPits());
+        assertEquals(0, nodeA.getHistory(gameId, null).currentPly());
+    }
+
+    @Test
+    void testConcurrentMovesOnBothNodesApplyOnce() throws Exception {
+        final long gameId = nodeA.createGame();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            final List<Callable<MoveResult>> clicks = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                final GameService node = i % 2 == 0 ? nodeA : nodeB;
+                clicks.add(() -> node.makeMove(gameId, 2, 0));
+            }
+
+            long applied = 0;
+            for (final Future<MoveResult> result : executor.invokeAll(clicks)) {
+                if (result.get(5, TimeUnit.SECONDS) instanceof MoveResult.Applied a && !a.replayed()) {
+                    applied++;
+                }
+            }
+
+            assertEquals(1, applied);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testUnknownGameIsNotFound() {
+        assertThrows(GameNotFoundException.class, () -> nodeA.makeMove(12345, 0, 0));
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.spectator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.exception.GameNotFoundException;
+import org.example.model.BoardState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpectatorHubTest {
+
+    private SpectatorHub spectatorHub;
+
+    @BeforeEach
+    void setUp() {
+        spectatorHub = new SpectatorHub(new ObjectMapper(), 4, 1, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        spectatorHub.close();
+    }
+
+    @Test
+    void testFramesAreSerializedOnceAndSharedByAllSpectators() throws InterruptedException {
+        final int spectatorCount = 10_000;
+        final CountDownLatch delivered = new CountDownLatch(spectatorCount);
+        final List<RecordingSink> sinks = new ArrayList<>();
+
+        for (int i = 0; i < spectatorCount; i++) {
+            final RecordingSink sink = new RecordingSink(delivered, 1);
+            sinks.add(sink);
+            spectatorHub.subscribe(sink, 0, () -> state(0));
+        }
+
+        spectatorHub.onBoardChanged(state(1));
+
+        assertTrue(delivered.await(10, TimeUnit.SECONDS), "Every spectator should receive the change");
+        assertEquals(spectatorCount, spectatorHub.getSubscriberCount());
+
+        final SpectatorFrame first = sinks.get(0).lastFrame();
+        sinks.forEach(sink -> assertSame(first, sink.lastFrame(), "The frame should be shared"));
+        assertTrue(new String(first.payload(), StandardCharsets.UTF_8).contains("\"version\":1"));
+    }
+
+    @Test
+    void testMoveMadeWhileSubscribingIsDeliveredOnceAndInOrder() throws InterruptedException {
+        final CountDownLatch delivered = new CountDownLatch(1);
+        final RecordingSink sink = new RecordingSink(delivered, 2);
+
+        // The move lands after the spectator is registered but before its first state is read.
+        spectatorHub.subscribe(sink, 0, () -> {
+            spectatorHub.onBoardChanged(state(1));
+            return state(1);
+        });
+        spectatorHub.onBoardChanged(state(2));
+
+        assertTrue(delivered.await(10, TimeUnit.SECONDS), "The spectator should receive the later move");
+        assertEquals(List.of(1L, 2L), sink.frames.stream().map(SpectatorFrame::getVersion).toList());
+    }
+
+    @Test
+    void testSubscriptionToUnknownGameIsRemoved() {
+        final CountDownLatch closed = new CountDownLatch(1);
+        final SpectatorSink sink = new SpectatorSink() {
+            @Override
+            public void send(final SpectatorFrame frame) {
+            }
+
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        };
+
+        assertThrows(GameNotFoundException.class, () -> spectatorHub.subscribe(sink, 42, () -> {
+            throw new GameNotFoundException(42);
+        }));
+        assertEquals(0, closed.getCount(), "The sink should be closed");
+        assertEquals(0, spectatorHub.getSubscriberCount());
+    }
+
+    @Test
+    void testSlowSpectatorIsCompactedAndThenDropped() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final SpectatorSink blockedSink = new SpectatorSink() {
+            @Override
+            public void send(final SpectatorFrame frame) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void close() {
+                release.countDown();
+            }
+        };
+
+        spectatorHub.subscribe(blockedSink, 0, () -> state(0));
+
+        for (int version = 1; version <= 20; version++) {
+            spectatorHub.onBoardChanged(state(version));
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (spectatorHub.getSubscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, spectatorHub.getSubscriberCount());
+        assertEquals(1, spectatorHub.getDroppedCount());
+    }
+
+    private static BoardState state(final long version) {
+        return new BoardState(0, version, new int[]{6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0}, "Player One", null);
+    }
+
+    private static final class RecordingSink implements SpectatorSink {
+        private final ConcurrentLinkedQueue<SpectatorFrame> frames = new ConcurrentLinkedQueue<>();
+        private final CountDownLatch delivered;
+        private final long awaitedVersion;
+
+        RecordingSink(final CountDownLatch delivered, final long awaitedVersion) {
+            this.delivered = delivered;
+            this.awaitedVersion = awaitedVersion;
+        }
+
+        @Override
+        public void send(final SpectatorFrame frame) {
+            frames.add(frame);
+
+            if (frame.getVersion() == awaitedVersion) {
+                delivered.countDown();
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        SpectatorFrame lastFrame() {
+            SpectatorFrame last = null;
+
+            for (final SpectatorFrame frame : frames) {
+                last = frame;
+            }
+
+            return last;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.state;
+
+import org.example.model.BoardState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentBoardStatesTest {
+
+    @Test
+    void testRemembersLastVersions() {
+        final RecentBoardStates states = new RecentBoardStates(4, 10);
+
+        for (int version = 0; version < 6; version++) {
+            states.onBoardChanged(state(1, version));
+        }
+
+        assertTrue(states.find(1, 1).isEmpty());
+        assertEquals(2, states.find(1, 2).orElseThrow().version());
+        assertEquals(5, states.find(1, 5).orElseThrow().version());
+        assertTrue(states.find(1, 6).isEmpty());
+        assertTrue(states.find(2, 5).isEmpty());
+    }
+
+    @Test
+    void testOlderStateDoesNotReplaceNewer() {
+        final RecentBoardStates states = new RecentBoardStates(4, 10);
+
+        states.remember(state(1, 5));
+        states.remember(state(1, 1));
+
+        assertTrue(states.find(1, 1).isEmpty());
+        assertTrue(states.find(1, 5).isPresent());
+    }
+
+    @Test
+    void testGameCountIsCapped() {
+        final RecentBoardStates states = new RecentBoardStates(4, 3);
+
+        for (long gameId = 0; gameId < 10; gameId++) {
+            states.remember(state(gameId, 0));
+        }
+
+        assertEquals(3, states.getGameCount());
+        assertTrue(states.find(9, 0).isPresent());
+    }
+
+    private static BoardState state(final long gameId, final long version) {
+        return new BoardState(gameId, version, new int[]{(int) version, 0}, "Player One", null);
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.storage;
+
+import org.example.model.Board;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares keeping idle games as {@link Board} objects on the heap with packing them into an
+ * {@link OffHeapBoardStore}.
+ * <p>
+ * For each tier it reports the bytes used per game and the time spent in full collections while the games
+ * are held. Run it with a fixed heap so the numbers are comparable, e.g.
+ * {@code java -Xmx4g -cp target/classes:target/test-classes org.example.storage.OffHeapBoardStoreBenchmark 2000000}.
+ */
+public final class OffHeapBoardStoreBenchmark {
+    private static final int DEFAULT_GAMES = 1_000_000;
+    private static final int FULL_COLLECTIONS = 5;
+
+    private OffHeapBoardStoreBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+
+        System.out.printf("Storing %,d idle games%n", games);
+
+        final long baseline = usedHeapAfterCollection();
+        final List<Board> heapBoards = new ArrayList<>(games);
+
+        for (int i = 0; i < games; i++) {
+            heapBoards.add(playedBoard(i));
+        }
+
+        report("heap", heapBoards.size(), usedHeapAfterCollection() - baseline);
+        heapBoards.clear();
+
+        final long offHeapBaseline = usedHeapAfterCollection();
+        final OffHeapBoardStore store = OffHeapBoardStore.direct(6, 6);
+
+        for (int i = 0; i < games; i++) {
+            store.store(playedBoard(i));
+        }
+
+        report("off-heap", store.size(), usedHeapAfterCollection() - offHeapBaseline + store.getReservedBytes());
+    }
+
+    private static Board playedBoard(final int seed) {
+        final Board board = new Board();
+        board.moveStones(seed % 6);
+        return board;
+    }
+
+    private static void report(final String tier, final int games, final long bytes) {
+        final long pauseMillis = fullCollectionMillis();
+
+        System.out.printf("%-8s %,12d bytes  %6.1f bytes/game  %5d ms in %d full collections%n",
+                tier, bytes, (double) bytes / games, pauseMillis, FULL_COLLECTIONS);
+    }
+
+    private static long fullCollectionMillis() {
+        final long before = totalCollectionMillis();
+
+        for (int i = 0; i < FULL_COLLECTIONS; i++) {
+            System.gc();
+        }
+
+        return totalCollectionMillis() - before;
+    }
+
+    private static long usedHeapAfterCollection() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long totalCollectionMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.storage;
+
+import org.example.model.Board;
+import org.example.model.Player;
+import org.example.rules.RuleVariant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapBoardStoreTest {
+
+    @Test
+    void testStoreAndLoad() {
+        final OffHeapBoardStore store = OffHeapBoardStore.direct(6, 6);
+        final Board board = new Board();
+        board.moveStones(2);
+
+        final int handle = store.store(board);
+        final Board loaded = store.load(handle);
+
+        assertArrayEquals(board.getPits(), loaded.getPits());
+        assertEquals(board.getCurrentPlayer(), loaded.getCurrentPlayer());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testUpdate() {
+        final OffHeapBoardStore store = OffHeapBoardStore.direct(6, 6);
+        final Board board = new Board();
+        final int handle = store.store(board);
+
+        board.moveStones(4);
+        store.update(handle, board);
+
+        assertArrayEquals(board.getPits(), store.load(handle).getPits());
+        assertEquals(Player.TWO, store.load(handle).getCurrentPlayer());
+    }
+
+    @Test
+    void testVariantIsKept() {
+        final OffHeapBoardStore store = OffHeapBoardStore.direct(6, 6);
+        final Board board = new Board(RuleVariant.EMPTY_CAPTURE);
+        board.moveStones(1);
+
+        final Board loaded = store.load(store.store(board));
+
+        assertEquals(RuleVariant.EMPTY_CAPTURE, loaded.getVariant());
+        assertEquals(Player.TWO, loaded.getCurrentPlayer());
+    }
+
+    @Test
+    void testRemovedSlotIsReused() {
+        final OffHeapBoardStore store = OffHeapBoardStore.direct(6, 6);
+        final int first = store.store(new Board());
+        store.store(new Board());
+
+        store.remove(first);
+
+        assertThrows(IllegalStateException.class, () -> store.load(first));
+        assertEquals(first, store.store(new Board()));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void testIncompatibleBoardIsRejected() {
+        final OffHeapBoardStore store = OffHeapBoardStore.direct(4, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> store.store(new Board()));
+    }
+
+    @Test
+    void testLargeConfigurationUsesWiderPits() {
+        final OffHeapBoardStore store = OffHeapBoardStore.direct(6, 100);
+        final Board board = new Board(6, 100);
+        board.getPits()[6] = 1_000;
+
+        final int handle = store.store(board);
+
+        assertEquals(1 + 14 * Character.BYTES, store.getSlotSize());
+        assertEquals(1_000, store.load(handle).getStoredStonesCountForPlayer(Player.ONE));
+    }
+
+    @Test
+    void testMillionBoardsFootprint() {
+        final OffHeapBoardStore store = OffHeapBoardStore.direct(6, 6);
+        final Board board = new Board();
+
+        for (int i = 0; i < 1_000_000; i++) {
+            store.store(board);
+        }
+
+        assertEquals(1_000_000, store.size());
+        assertEquals(15, store.getSlotSize());
+        assertTrue(store.getReservedBytes() < 1_000_000L * 16, "Slabs should hold about 15 bytes per game");
+        assertArrayEquals(board.getPits(), store.load(999_999).getPits());
+    }
+
+    @Test
+    void testMappedStore(@TempDir final Path directory) {
+        try (OffHeapBoardStore store = OffHeapBoardStore.mapped(6, 6, directory.resolve("boards.slab"))) {
+            final Board board = new Board();
+            board.moveStones(0);
+
+            final int handle = store.store(board);
+
+            assertArrayEquals(board.getPits(), store.load(handle).getPits());
+        }
+    }
+}